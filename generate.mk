@@ -19,7 +19,7 @@ REGISTRY_FILE=DSP8011_$(RELEASE_VERSION).zip
 
 OPENAPI_DOCUMENT=api/openapi/openapi.yaml
 
-all: src/lib.rs
+all: check src/lib.rs
 
 # Schema
 
@@ -42,11 +42,20 @@ registry/DSP8011_2022.3.pdf: $(REGISTRY_FILE)
 # Jar
 
 JAR_FILE=redfish-generator/target/redfish-codegen-1.0-SNAPSHOT.jar
-JVM_ARGS=-DmaxYamlCodePoints=6291456 -Dfile.encoding=UTF-8
+JVM_ARGS=-Dfile.encoding=UTF-8
 
 $(JAR_FILE): redfish-generator/pom.xml
 	(cd redfish-generator && mvn clean package)
 
+# Checks
+
+# The generator names inline schemas with a shortcut for probing every candidate name, which must agree with it on the
+# bundle.
+.PHONY: check
+check: api/openapi/openapi.yaml $(JAR_FILE)
+	java $(JVM_ARGS) -cp $(JAR_FILE) com.twardyece.dmtf.openapi.UniqueNameCheck \
+		-apiDirectory api/openapi
+
 # Code generation
 
 src/lib.rs: api/openapi/openapi.yaml registry/DSP8011_2022.3.pdf $(JAR_FILE)
@@ -0,0 +1,67 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.twardyece.dmtf.FileFactory;
+import com.twardyece.dmtf.ModuleFile;
+import com.twardyece.dmtf.RedfishCodegen;
+import com.twardyece.dmtf.RustType;
+import com.twardyece.dmtf.api.PathMap;
+import com.twardyece.dmtf.api.TraitContextFactory;
+import com.twardyece.dmtf.model.ModelResolver;
+import com.twardyece.dmtf.model.context.ModelContext;
+import com.twardyece.dmtf.output.MemoryOutputSink;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DocumentBenchmark {
+    private static final String MODEL = "ComputerSystem_v1_2_0_ComputerSystem";
+
+    private Path fixture;
+    private OpenAPI document;
+    private TraitContextFactory traitContextFactory;
+    private ModuleFile<ModelContext> modelFile;
+    private MemoryOutputSink sink;
+
+    @Setup
+    public void setup() throws IOException {
+        this.fixture = Fixture.extract();
+        this.document = Fixture.parse(this.fixture);
+
+        ModelResolver modelResolver = RedfishCodegen.makeModelResolver();
+        this.traitContextFactory = RedfishCodegen.makeTraitContextFactory(modelResolver);
+
+        FileFactory fileFactory = RedfishCodegen.makeFileFactory(modelResolver);
+        RustType rustType = modelResolver.resolvePath(MODEL);
+        this.modelFile = fileFactory.makeModelFile(rustType, this.document.getComponents().getSchemas().get(MODEL));
+        this.sink = new MemoryOutputSink();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Fixture.delete(this.fixture);
+    }
+
+    @Benchmark
+    public OpenAPI parse() {
+        return Fixture.parse(this.fixture);
+    }
+
+    @Benchmark
+    public PathMap pathMap() {
+        return new PathMap(this.document.getPaths(), this.traitContextFactory);
+    }
+
+    @Benchmark
+    public boolean renderModel() throws IOException {
+        return this.modelFile.generate(this.sink);
+    }
+}
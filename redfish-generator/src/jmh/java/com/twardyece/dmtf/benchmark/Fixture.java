@@ -0,0 +1,81 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.twardyece.dmtf.RedfishCodegen;
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * A small OpenAPI document in the shape of DSP8010, bundled with the benchmarks. The parser reads from the filesystem,
+ * so the document is extracted to a temporary directory first.
+ */
+class Fixture {
+    private static final String RESOURCE_DIRECTORY = "fixture/api/";
+    private static final String[] FILES = {
+            "openapi.yaml",
+            "ComputerSystem.v1_2_0.yaml",
+            "ComputerSystemCollection.yaml",
+            "Message.v1_1_2.yaml",
+            "Resource.yaml",
+            "ServiceRoot.v1_1_0.yaml",
+            "odata-v4.yaml",
+    };
+
+    // Schema names as they appear in the fixture and in DSP8010, used as inputs for name-handling benchmarks.
+    static final String[] SCHEMA_NAMES = {
+            "ComputerSystem_v1_2_0_ComputerSystem",
+            "ComputerSystem_v1_2_0_Boot",
+            "ComputerSystem_v1_2_0_PowerState",
+            "ComputerSystemCollection_ComputerSystemCollection",
+            "Message_v1_1_2_Message",
+            "Resource_Health",
+            "Resource_Oem",
+            "ServiceRoot_v1_1_0_ServiceRoot",
+            "odata-v4_idRef",
+            "RedfishError",
+    };
+
+    // Property and identifier names with the awkward cases the sanitizers handle.
+    static final String[] PROPERTY_NAMES = {
+            "@odata.id",
+            "@odata.type",
+            "Members@odata.count",
+            "PowerState",
+            "PCIeDevices",
+            "IPv6StaticAddresses",
+            "type",
+            "BootSourceOverrideTarget",
+    };
+
+    private Fixture() {}
+
+    static Path extract() throws IOException {
+        Path directory = Files.createTempDirectory("redfish-benchmark");
+        for (String file : FILES) {
+            try (InputStream input = Fixture.class.getClassLoader().getResourceAsStream(RESOURCE_DIRECTORY + file)) {
+                if (null == input) {
+                    throw new IOException("Missing fixture file " + file);
+                }
+                Files.copy(input, directory.resolve(file));
+            }
+        }
+        return directory;
+    }
+
+    static OpenAPI parse(Path directory) {
+        return RedfishCodegen.makeDocumentParser(directory.toString()).parse();
+    }
+
+    static void delete(Path directory) throws IOException {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
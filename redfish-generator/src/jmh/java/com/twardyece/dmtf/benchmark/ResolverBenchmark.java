@@ -0,0 +1,56 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.twardyece.dmtf.RedfishCodegen;
+import com.twardyece.dmtf.identifiers.IdentifierParseError;
+import com.twardyece.dmtf.identifiers.VersionedSchemaIdentifier;
+import com.twardyece.dmtf.model.ModelResolver;
+import com.twardyece.dmtf.model.mapper.IModelFileMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResolverBenchmark {
+    private ModelResolver modelResolver;
+    private IModelFileMapper[] mappers;
+
+    @Setup
+    public void setup() {
+        this.modelResolver = RedfishCodegen.makeModelResolver();
+        this.mappers = this.modelResolver.getMappers();
+    }
+
+    @Benchmark
+    public void versionedSchemaIdentifier(Blackhole blackhole) {
+        for (String name : Fixture.SCHEMA_NAMES) {
+            try {
+                blackhole.consume(new VersionedSchemaIdentifier(name));
+            } catch (IdentifierParseError e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void resolvePath(Blackhole blackhole) {
+        for (String name : Fixture.SCHEMA_NAMES) {
+            blackhole.consume(this.modelResolver.resolvePath(name));
+        }
+    }
+
+    // The resolver remembers each name it resolves, so after the first call resolvePath only measures lookups. A fresh
+    // resolver resolves every name from scratch. Creating it is measured too, but costs little next to the names.
+    @Benchmark
+    public void resolvePathUncached(Blackhole blackhole) {
+        ModelResolver modelResolver = new ModelResolver(this.mappers);
+        for (String name : Fixture.SCHEMA_NAMES) {
+            blackhole.consume(modelResolver.resolvePath(name));
+        }
+    }
+}
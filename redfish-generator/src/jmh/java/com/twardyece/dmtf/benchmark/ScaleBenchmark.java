@@ -0,0 +1,57 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.twardyece.dmtf.RedfishCodegen;
+import com.twardyece.dmtf.api.PathMap;
+import com.twardyece.dmtf.api.TraitContextFactory;
+import com.twardyece.dmtf.synthetic.SyntheticSpec;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how parsing and path mapping scale with the size of the document, using synthetic documents in the shape
+ * of DSP8010. A single run at the largest scale takes seconds, so each iteration is timed once.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScaleBenchmark {
+    @Param({"1", "10", "100"})
+    public int scale;
+
+    private Path directory;
+    private Path apiDirectory;
+    private OpenAPI document;
+    private TraitContextFactory traitContextFactory;
+
+    @Setup
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("redfish-benchmark");
+        new SyntheticSpec(this.scale).write(this.directory);
+        this.apiDirectory = this.directory.resolve("api");
+        this.document = Fixture.parse(this.apiDirectory);
+        this.traitContextFactory = RedfishCodegen.makeTraitContextFactory(RedfishCodegen.makeModelResolver());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Fixture.delete(this.directory);
+    }
+
+    @Benchmark
+    public OpenAPI parse() {
+        return Fixture.parse(this.apiDirectory);
+    }
+
+    @Benchmark
+    public PathMap pathMap() {
+        return new PathMap(this.document.getPaths(), this.traitContextFactory);
+    }
+}
@@ -0,0 +1,97 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.twardyece.dmtf.RustConfig;
+import com.twardyece.dmtf.text.CaseConversion;
+import com.twardyece.dmtf.text.PascalCaseName;
+import com.twardyece.dmtf.text.SnakeCaseName;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextBenchmark {
+    // The conversions are cached, so after the first call the cached benchmarks only measure lookups. Their uncached
+    // variants run in a JVM with the caches turned off.
+    private static final String NO_CACHE = "-Dcom.twardyece.dmtf.boundedCache=false";
+
+    private static final String[] PASCAL_NAMES = {
+            "ComputerSystem", "PCIeDevice", "IPv6StaticAddress", "SerialConsoleProtocol", "BootSourceOverrideTarget",
+            "ODataId", "MemoryMetrics", "USBController",
+    };
+    private static final String[] SNAKE_NAMES = {
+            "computer_system", "pcie_device", "ipv6_static_address", "serial_console_protocol", "odata_v4",
+            "v1_2_0", "memory_metrics", "usb_controller",
+    };
+
+    @Benchmark
+    public void pascalCaseName(Blackhole blackhole) {
+        for (String name : PASCAL_NAMES) {
+            blackhole.consume(new PascalCaseName(name));
+        }
+    }
+
+    @Benchmark
+    public void snakeCaseName(Blackhole blackhole) {
+        for (String name : SNAKE_NAMES) {
+            blackhole.consume(new SnakeCaseName(name));
+        }
+    }
+
+    @Benchmark
+    public void pascalToSnakeCase(Blackhole blackhole) {
+        for (String name : PASCAL_NAMES) {
+            blackhole.consume(CaseConversion.toSnakeCase(name));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = NO_CACHE)
+    public void pascalToSnakeCaseUncached(Blackhole blackhole) {
+        this.pascalToSnakeCase(blackhole);
+    }
+
+    @Benchmark
+    public void snakeToPascalCase(Blackhole blackhole) {
+        for (String name : SNAKE_NAMES) {
+            blackhole.consume(CaseConversion.toPascalCase(name));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = NO_CACHE)
+    public void snakeToPascalCaseUncached(Blackhole blackhole) {
+        this.snakeToPascalCase(blackhole);
+    }
+
+    @Benchmark
+    public void sanitizePropertyName(Blackhole blackhole) {
+        for (String name : Fixture.PROPERTY_NAMES) {
+            blackhole.consume(RustConfig.sanitizePropertyName(name));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = NO_CACHE)
+    public void sanitizePropertyNameUncached(Blackhole blackhole) {
+        this.sanitizePropertyName(blackhole);
+    }
+
+    @Benchmark
+    public void sanitizeIdentifier(Blackhole blackhole) {
+        for (String name : Fixture.PROPERTY_NAMES) {
+            blackhole.consume(RustConfig.sanitizeIdentifier(name));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = NO_CACHE)
+    public void sanitizeIdentifierUncached(Blackhole blackhole) {
+        this.sanitizeIdentifier(blackhole);
+    }
+}
@@ -1,66 +1,127 @@
 package com.twardyece.dmtf;
 
 import com.twardyece.dmtf.text.ICaseConvertible;
+import com.twardyece.dmtf.text.IdentifierTable;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * A path in the Rust module namespace. Paths are persistent: each one points at its parent and adds one component to
+ * it, so appending a component is constant time and paths sharing a prefix share its nodes. Paths never change once
+ * built, so they can be shared freely between threads.
+ */
 public class CratePath implements Comparable<CratePath> {
-    private ArrayList<SnakeCaseName> path;
+    private static final CratePath EMPTY = new CratePath();
+
+    private final CratePath parent;
+    private final SnakeCaseName component;
+    private final SnakeCaseName first;
+    private final int depth;
+    // The rendered path, interned in the IdentifierTable, so paths are equal exactly when these are the same object.
+    // Computed on first use, as is the list of components. Both are immutable, so racing threads compute equal values.
+    private String value;
+    private List<SnakeCaseName> components;
+
+    private CratePath() {
+        this.parent = null;
+        this.component = null;
+        this.first = null;
+        this.depth = 0;
+        this.value = IdentifierTable.intern("");
+        this.components = List.of();
+    }
+
+    private CratePath(CratePath parent, SnakeCaseName component) {
+        this.parent = parent;
+        this.component = component;
+        this.first = 0 == parent.depth ? component : parent.first;
+        this.depth = parent.depth + 1;
+    }
 
     public static CratePath crateLocal(Collection<SnakeCaseName> path) {
-        CratePath cratePath = CratePath.crateRoot();
-        cratePath.path.addAll(path);
-        return cratePath;
+        return crateRoot().appendAll(path);
     }
 
     public static CratePath crateRoot() {
-        CratePath cratePath = CratePath.empty();
-        cratePath.path.add(RustConfig.CRATE_ROOT_MODULE);
-        return cratePath;
+        return EMPTY.append(RustConfig.CRATE_ROOT_MODULE);
     }
 
     public static CratePath relative(Collection<SnakeCaseName> path) {
-        CratePath cratePath = CratePath.empty();
-        cratePath.path.addAll(path);
-        return cratePath;
+        return EMPTY.appendAll(path);
     }
 
     public static CratePath empty() {
-        CratePath cratePath = new CratePath();
-        cratePath.path = new ArrayList<>();
-        return cratePath;
+        return EMPTY;
     }
 
     public List<SnakeCaseName> getComponents() {
-        return this.path;
+        if (null == this.components) {
+            SnakeCaseName[] components = new SnakeCaseName[this.depth];
+            for (CratePath path = this; path.depth > 0; path = path.parent) {
+                components[path.depth - 1] = path.component;
+            }
+            this.components = Collections.unmodifiableList(Arrays.asList(components));
+        }
+        return this.components;
     }
 
     public SnakeCaseName getLastComponent() {
-        return this.path.get(this.path.size() - 1);
+        if (0 == this.depth) {
+            throw new IndexOutOfBoundsException("The empty path has no components");
+        }
+        return this.component;
+    }
+
+    // The path without its last component, or null for the empty path.
+    public CratePath getParent() { return this.parent; }
+
+    public int getDepth() { return this.depth; }
+
+    // The leading components of this path, e.g. crate::models for crate::models::foo.
+    public CratePath prefix(int depth) {
+        if (depth < 0 || depth > this.depth) {
+            throw new IndexOutOfBoundsException("No prefix of depth " + depth + " in " + this);
+        }
+
+        CratePath path = this;
+        while (path.depth > depth) {
+            path = path.parent;
+        }
+        return path;
+    }
+
+    // The trailing components of this path, starting from the component at the given index.
+    public CratePath suffix(int start) {
+        List<SnakeCaseName> components = this.getComponents();
+        return relative(components.subList(start, components.size()));
     }
 
     public boolean isCrateLocal() {
-        return 0 < this.path.size() && this.path.get(0).equals(RustConfig.CRATE_ROOT_MODULE);
+        return 0 < this.depth && this.first.equals(RustConfig.CRATE_ROOT_MODULE);
     }
 
     public boolean isEmpty() {
-        return 0 == this.path.size();
+        return 0 == this.depth;
     }
 
     @Override
     public String toString() {
-        return String.join("::", this.path.stream().map((name) -> name.toString()).collect(Collectors.toList()));
+        if (null == this.value) {
+            this.value = IdentifierTable.intern(1 == this.depth
+                    ? this.component.toString()
+                    : this.parent + "::" + this.component);
+        }
+        return this.value;
     }
 
     public String joinComponent(ICaseConvertible component) {
-        if (this.path.size() > 0) {
+        if (this.depth > 0) {
             return this + "::" + component.toString();
         } else {
             return component.toString();
@@ -68,30 +129,43 @@ public class CratePath implements Comparable<CratePath> {
     }
 
     public CratePath append(SnakeCaseName component) {
-        CratePath cratePath = CratePath.empty();
-        cratePath.path.addAll(this.path);
-        cratePath.path.add(component);
-        return cratePath;
+        return new CratePath(this, component);
     }
 
+    private CratePath appendAll(Collection<SnakeCaseName> components) {
+        CratePath path = this;
+        for (SnakeCaseName component : components) {
+            path = path.append(component);
+        }
+        return path;
+    }
+
+    // The file that holds this module. Modules of this crate live in the source directory, and the crate root itself
+    // is the crate's root file.
     public Path toPath() {
-        if (path.isEmpty()) {
+        if (0 == this.depth) {
             return null;
-        } else if (1 == path.size() && path.get(0).equals(RustConfig.CRATE_ROOT_MODULE)) {
+        } else if (1 == this.depth && this.isCrateLocal()) {
             return Paths.get(RustConfig.CRATE_SOURCE_DIRECTORY + "/" + RustConfig.CRATE_ROOT_FILE);
-        } else if (path.get(0).equals(RustConfig.CRATE_ROOT_MODULE)) {
-            path.set(0, RustConfig.CRATE_SOURCE_DIRECTORY);
         }
 
-        String path = String.join("/", this.path.stream().map((name) -> name.toString()).collect(Collectors.toList()))
-                + RustConfig.FILE_EXTENSION;
-        return Paths.get(path);
+        StringBuilder path = new StringBuilder();
+        List<SnakeCaseName> components = this.getComponents();
+        for (int i = 0; i < components.size(); ++i) {
+            SnakeCaseName name = components.get(i);
+            if (0 == i && name.equals(RustConfig.CRATE_ROOT_MODULE)) {
+                name = RustConfig.CRATE_SOURCE_DIRECTORY;
+            } else if (0 != i) {
+                path.append('/');
+            }
+            path.append(name);
+        }
+        path.append(RustConfig.FILE_EXTENSION);
+        return Paths.get(path.toString());
     }
 
     public static CratePath parse(String value) {
-        CratePath path = CratePath.empty();
-        path.path.addAll(Arrays.stream(value.split("::")).map(SnakeCaseName::new).toList());
-        return path;
+        return relative(Arrays.stream(value.split("::")).map(SnakeCaseName::new).toList());
     }
 
     @Override
@@ -102,7 +176,7 @@ public class CratePath implements Comparable<CratePath> {
     @Override
     public boolean equals(Object o) {
         if (o instanceof CratePath) {
-            return this.toString().equals(o.toString());
+            return this.toString() == o.toString();
         } else {
             return false;
         }
@@ -3,6 +3,7 @@ package com.twardyece.dmtf;
 import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheFactory;
 import com.twardyece.dmtf.api.TraitContext;
+import com.twardyece.dmtf.events.MakeModelContextEvent;
 import com.twardyece.dmtf.model.context.ModelContext;
 import com.twardyece.dmtf.model.context.factory.IModelContextFactory;
 import com.twardyece.dmtf.registry.RegistryContext;
@@ -30,7 +31,16 @@ public class FileFactory {
 
     public ModuleFile<ModelContext> makeModelFile(RustType rustType, Schema schema) {
         for (IModelContextFactory factory : this.contextFactories) {
+            MakeModelContextEvent event = new MakeModelContextEvent();
+            event.begin();
             ModelContext modelContext = factory.makeModelContext(rustType, schema);
+            if (event.shouldCommit()) {
+                event.factory = factory.getClass().getSimpleName();
+                event.rustType = rustType.toString();
+                event.matched = null != modelContext;
+                event.commit();
+            }
+
             if (null != modelContext) {
                 return new ModuleFile<>(modelContext.moduleContext.path, modelContext, this.modelTemplate);
             }
@@ -0,0 +1,70 @@
+package com.twardyece.dmtf;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The named inputs that produced a generated file, each recorded as a SHA-256 hash of its content. Two runs that see
+ * the same inputs for a file render the same file.
+ */
+public class FileInputs {
+    private final SortedMap<String, String> inputs = new TreeMap<>();
+
+    public FileInputs() {}
+
+    public FileInputs add(String name, String content) {
+        return this.add(name, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public FileInputs add(String name, byte[] content) {
+        return this.addHash(name, hash(content));
+    }
+
+    public FileInputs addHash(String name, String hash) {
+        this.inputs.put(name, hash);
+        return this;
+    }
+
+    public FileInputs addAll(FileInputs other) {
+        this.inputs.putAll(other.inputs);
+        return this;
+    }
+
+    public Map<String, String> getInputs() { return Collections.unmodifiableMap(this.inputs); }
+
+    public String getDigest() {
+        MessageDigest digest = newDigest();
+        for (Map.Entry<String, String> entry : this.inputs.entrySet()) {
+            update(digest, entry.getKey().getBytes(StandardCharsets.UTF_8));
+            update(digest, entry.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String hash(byte[] content) {
+        MessageDigest digest = newDigest();
+        digest.update(content);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static void update(MessageDigest digest, byte[] bytes) {
+        // Length-prefix each field so that adjacent values can't be confused with one another.
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
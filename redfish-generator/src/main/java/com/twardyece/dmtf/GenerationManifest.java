@@ -0,0 +1,155 @@
+package com.twardyece.dmtf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.twardyece.dmtf.output.IOutputSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Records the inputs of every file emitted by a run, so that a later run can skip rendering files whose inputs have
+ * not changed. The manifest is stored as JSON alongside the generated crate.
+ */
+public class GenerationManifest {
+    private static final int FORMAT_VERSION = 1;
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationManifest.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // The generator doesn't change while it runs, so it's only hashed once.
+    private static volatile String generatorHash;
+
+    private final Path manifestFile;
+    private final FileInputs commonInputs;
+    private final Map<String, String> previous;
+    private final Map<String, FileInputs> current = new ConcurrentHashMap<>();
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+    private final AtomicInteger rendered = new AtomicInteger();
+
+    private GenerationManifest(Path manifestFile, FileInputs commonInputs, Map<String, String> previous) {
+        this.manifestFile = manifestFile;
+        this.commonInputs = commonInputs;
+        this.previous = previous;
+    }
+
+    /**
+     * Load the manifest left by a previous run, if any. Inputs common to every file, such as the generator itself, are
+     * mixed into each file's inputs.
+     */
+    public static GenerationManifest load(Path manifestFile, FileInputs commonInputs) {
+        Map<String, String> previous = new TreeMap<>();
+        if (Files.isRegularFile(manifestFile)) {
+            try {
+                JsonNode object = MAPPER.readTree(manifestFile.toFile());
+                if (FORMAT_VERSION == object.path("version").asInt()) {
+                    Iterator<Map.Entry<String, JsonNode>> files = object.path("files").fields();
+                    while (files.hasNext()) {
+                        Map.Entry<String, JsonNode> file = files.next();
+                        previous.put(file.getKey(), file.getValue().path("digest").asText());
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Ignoring unreadable manifest " + manifestFile + ": " + e.getMessage());
+                previous.clear();
+            }
+        }
+
+        return new GenerationManifest(manifestFile, commonInputs, previous);
+    }
+
+    /**
+     * Render the file unless it already exists and was rendered from the same inputs by a previous run.
+     *
+     * @return true if the file was written
+     */
+    public boolean generate(ModuleFile<?> file, FileInputs inputs, IOutputSink sink) throws IOException {
+        inputs.addAll(this.commonInputs);
+        String templateName = file.getTemplateName();
+        inputs.addHash("template:" + templateName,
+                this.templates.computeIfAbsent(templateName, GenerationManifest::hashTemplate));
+
+        Path path = file.path.toPath();
+        String key = path.toString();
+        this.current.put(key, inputs);
+        if (inputs.getDigest().equals(this.previous.get(key)) && sink.exists(path)) {
+            return false;
+        }
+
+        this.rendered.incrementAndGet();
+        return file.generate(sink);
+    }
+
+    public void save() throws IOException {
+        Map<String, Object> files = new TreeMap<>();
+        for (Map.Entry<String, FileInputs> entry : this.current.entrySet()) {
+            Map<String, Object> file = new LinkedHashMap<>();
+            file.put("digest", entry.getValue().getDigest());
+            file.put("inputs", entry.getValue().getInputs());
+            files.put(entry.getKey(), file);
+        }
+
+        Map<String, Object> object = new LinkedHashMap<>();
+        object.put("version", FORMAT_VERSION);
+        object.put("files", files);
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(this.manifestFile.toFile(), object);
+        LOGGER.info("Rendered " + this.rendered.get() + " of " + this.current.size() + " files");
+    }
+
+    /**
+     * A digest of the generator's own code and resources, taken from the jar or class directory it was loaded from.
+     */
+    public static String hashGenerator() throws IOException {
+        String hash = generatorHash;
+        if (null == hash) {
+            hash = computeGeneratorHash();
+            generatorHash = hash;
+        }
+        return hash;
+    }
+
+    private static String computeGeneratorHash() throws IOException {
+        Path location;
+        try {
+            location = Path.of(GenerationManifest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+
+        if (Files.isRegularFile(location)) {
+            return FileInputs.hash(Files.readAllBytes(location));
+        }
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(location)) {
+            files = stream.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        MessageDigest digest = FileInputs.newDigest();
+        for (Path file : files) {
+            FileInputs.update(digest, location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+            FileInputs.update(digest, Files.readAllBytes(file));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String hashTemplate(String name) {
+        try (InputStream input = GenerationManifest.class.getClassLoader().getResourceAsStream(name)) {
+            if (null == input) {
+                throw new RuntimeException("Couldn't find template " + name);
+            }
+            return FileInputs.hash(input.readAllBytes());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
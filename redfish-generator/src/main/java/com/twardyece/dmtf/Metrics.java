@@ -0,0 +1,150 @@
+package com.twardyece.dmtf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects wall time, CPU time and allocation for each phase of a run, along with named counters and gauges. CPU time
+ * and allocation are measured across the whole process, so work fanned out to worker threads is attributed to the
+ * phase that started it. Allocation is summed over each thread's own counter. A thread's counter goes away when it
+ * exits, so threads that may exit partway through a phase, like the TaskRunner's workers, call threadExiting() first.
+ */
+public class Metrics {
+    private static final com.sun.management.OperatingSystemMXBean osBean = getOperatingSystemBean();
+    private static final com.sun.management.ThreadMXBean threadBean = getThreadBean();
+    // What threads that have exited allocated, and which threads they were, so that a thread that is still winding
+    // down isn't counted twice. Thread ids are never reused. Both are guarded by the set.
+    private static final Set<Long> exitedThreads = new HashSet<>();
+    private static long exitedAllocatedBytes = 0;
+
+    private final List<PhaseRecord> phases = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Double> gauges = new ConcurrentHashMap<>();
+
+    public Metrics() {}
+
+    /**
+     * Start timing a phase. The phase is recorded when the returned timer is closed, so phases are typically measured
+     * with try-with-resources, and may be nested.
+     */
+    public Timer start(String phase) { return new Timer(phase); }
+
+    public void increment(String counter) { this.add(counter, 1); }
+
+    public void add(String counter, long delta) {
+        this.counters.computeIfAbsent(counter, (k) -> new LongAdder()).add(delta);
+    }
+
+    public long getCounter(String counter) {
+        LongAdder adder = this.counters.get(counter);
+        return null == adder ? 0 : adder.sum();
+    }
+
+    // A gauge records the latest value of a measurement that isn't a running total, such as a ratio.
+    public void gauge(String gauge, double value) { this.gauges.put(gauge, value); }
+
+    public void write(Path file) throws IOException {
+        List<Map<String, Object>> phaseList = new ArrayList<>();
+        synchronized (this.phases) {
+            for (PhaseRecord phase : this.phases) {
+                Map<String, Object> object = new LinkedHashMap<>();
+                object.put("name", phase.name);
+                object.put("wallNanos", phase.wallNanos);
+                object.put("cpuNanos", phase.cpuNanos);
+                object.put("allocatedBytes", phase.allocatedBytes);
+                phaseList.add(object);
+            }
+        }
+
+        Map<String, Long> counterMap = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : this.counters.entrySet()) {
+            counterMap.put(entry.getKey(), entry.getValue().sum());
+        }
+
+        Map<String, Object> object = new LinkedHashMap<>();
+        object.put("phases", phaseList);
+        object.put("counters", counterMap);
+        object.put("gauges", new TreeMap<>(this.gauges));
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), object);
+    }
+
+    public class Timer implements AutoCloseable {
+        private final String name;
+        private final long wallStart;
+        private final long cpuStart;
+        private final long allocatedStart;
+
+        private Timer(String name) {
+            this.name = name;
+            this.allocatedStart = allocatedBytes();
+            this.cpuStart = cpuTime();
+            this.wallStart = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long wall = System.nanoTime() - this.wallStart;
+            long cpu = this.cpuStart < 0 ? -1 : cpuTime() - this.cpuStart;
+            long allocated = this.allocatedStart < 0 ? -1 : allocatedBytes() - this.allocatedStart;
+            phases.add(new PhaseRecord(this.name, wall, cpu, allocated));
+        }
+    }
+
+    /**
+     * Records what the calling thread allocated, as it is about to exit, so the phases it took part in still count it.
+     */
+    public static void threadExiting() {
+        if (null == threadBean || !threadBean.isThreadAllocatedMemoryEnabled()) {
+            return;
+        }
+
+        synchronized (exitedThreads) {
+            if (exitedThreads.add(Thread.currentThread().getId())) {
+                exitedAllocatedBytes += threadBean.getCurrentThreadAllocatedBytes();
+            }
+        }
+    }
+
+    private record PhaseRecord(String name, long wallNanos, long cpuNanos, long allocatedBytes) {}
+
+    // Both measurements report -1 when the JVM doesn't support them.
+    private static long cpuTime() { return null == osBean ? -1 : osBean.getProcessCpuTime(); }
+
+    private static long allocatedBytes() {
+        if (null == threadBean || !threadBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+
+        synchronized (exitedThreads) {
+            long total = exitedAllocatedBytes;
+            long[] threads = threadBean.getAllThreadIds();
+            long[] allocated = threadBean.getThreadAllocatedBytes(threads);
+            for (int i = 0; i < threads.length; ++i) {
+                if (allocated[i] > 0 && !exitedThreads.contains(threads[i])) {
+                    total += allocated[i];
+                }
+            }
+            return total;
+        }
+    }
+
+    private static com.sun.management.OperatingSystemMXBean getOperatingSystemBean() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean bean) {
+            return bean;
+        }
+        return null;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            return bean;
+        }
+        return null;
+    }
+}
@@ -8,6 +8,8 @@ import java.util.stream.Collectors;
 public class ModuleContext {
     public CratePath path;
     private Set<Submodule> submoduleSet;
+    // The sorted submodules, which are rendered and hashed more than once. Cleared when a submodule is added.
+    private List<Submodule> submodules;
     public Set<Import> imports;
 
     public ModuleContext(CratePath path, List<RustType> dependentTypes) {
@@ -28,18 +30,19 @@ public class ModuleContext {
         }
 
         if (!rustType.isPrimitive() && rustType.getPath().isCrateLocal()) {
-            List<SnakeCaseName> components = rustType.getPath().getComponents();
-            if (components.size() > 1) {
-                List<SnakeCaseName> front = components.subList(0, 2);
-                List<SnakeCaseName> back = components.subList(1, components.size());
-                CratePath importPath = CratePath.relative(front);
-                imports.add(new Import(importPath));
-                rustType.setImportPath(CratePath.relative(back));
+            // Contexts name these types relative to the imported module (see RustType.toImportedString).
+            if (rustType.getPath().getDepth() > 1) {
+                imports.add(new Import(rustType.getPath().prefix(2)));
             }
         }
     }
 
-    public List<Submodule> submodules() { return this.submoduleSet.stream().sorted().collect(Collectors.toList()); }
+    public List<Submodule> submodules() {
+        if (null == this.submodules) {
+            this.submodules = this.submoduleSet.stream().sorted().collect(Collectors.toList());
+        }
+        return this.submodules;
+    }
 
     // Namespace elements from "named" submodules are not re-exported in the parent submodule, so their names must
     // prefix names of any namespace elements they export.
@@ -47,6 +50,7 @@ public class ModuleContext {
         // TODO: Instead of calling escapeReservedKeyword here, create a SanitarySnakeCaseIdentifier class that
         // ensures the identifier can be used in Rust code.
         this.submoduleSet.add(new ModuleContext.Submodule(RustConfig.escapeReservedKeyword(name), false));
+        this.submodules = null;
     }
 
     // All exported namespace elements from anonymous submodules are re-exported from the parent namespace, like so:
@@ -55,34 +59,7 @@ public class ModuleContext {
     // This makes them essentially "invisible" when referring to structs by path.
     public void addAnonymousSubmodule(SnakeCaseName name) {
         this.submoduleSet.add(new ModuleContext.Submodule(RustConfig.escapeReservedKeyword(name), true));
-    }
-
-    public void registerModel(Map<String, ModuleContext> modules) {
-        List<SnakeCaseName> components = this.path.getComponents();
-        if (null == components || 2 > components.size()) {
-            return;
-        }
-
-        List<SnakeCaseName> startingPath = new ArrayList<>();
-        startingPath.add(components.get(1));
-        CratePath path = CratePath.crateLocal(startingPath);
-
-        for (int i = 2; i < components.size(); ++i) {
-            SnakeCaseName component = components.get(i);
-            if (!path.isEmpty()) {
-                if (!modules.containsKey(path.toString())) {
-                    modules.put(path.toString(), new ModuleContext(path, null));
-                }
-
-                if (components.size() - 1 == i) {
-                    modules.get(path.toString()).addAnonymousSubmodule(component);
-                } else {
-                    modules.get(path.toString()).addNamedSubmodule(component);
-                }
-            }
-
-            path = path.append(component);
-        }
+        this.submodules = null;
     }
 
     public static class Import implements Comparable<Import> {
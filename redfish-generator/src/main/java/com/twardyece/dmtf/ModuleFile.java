@@ -1,17 +1,23 @@
 package com.twardyece.dmtf;
 
 import com.github.mustachejava.Mustache;
+import com.twardyece.dmtf.events.RenderTemplateEvent;
+import com.twardyece.dmtf.output.IOutputSink;
 
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.Charset;
 
 public class ModuleFile<T> {
     CratePath path;
     private T context;
     private Mustache template;
 
+    // Rendering buffers are reused across files, so each worker only grows its buffer to the largest file it renders.
+    private static final ThreadLocal<RenderBuffer> buffers = ThreadLocal.withInitial(RenderBuffer::new);
+
     public ModuleFile(CratePath path, T context, Mustache template) {
         this.path = path;
         this.context = context;
@@ -20,17 +26,34 @@ public class ModuleFile<T> {
 
     public T getContext() { return this.context; }
 
-    public void generate() throws IOException {
-        File moduleFile = this.path.toPath().toFile();
-        File parent = moduleFile.getParentFile();
-        if (!parent.exists()) {
-            parent.mkdirs();
-        }
-        moduleFile.createNewFile();
+    public String getTemplateName() { return this.template.getName(); }
 
+    /**
+     * Render the template and emit the result to the sink.
+     *
+     * @return true if the sink wrote the file, or false if it already held identical content
+     */
+    public boolean generate(IOutputSink sink) throws IOException {
         // Render the template
-        Writer writer = new PrintWriter(moduleFile);
+        RenderBuffer buffer = buffers.get();
+        buffer.reset();
+        Writer writer = new OutputStreamWriter(buffer, Charset.defaultCharset());
+        RenderTemplateEvent event = new RenderTemplateEvent();
+        event.begin();
         this.template.execute(writer, this.context);
         writer.flush();
+        if (event.shouldCommit()) {
+            event.template = this.template.getName();
+            event.path = this.path.toString();
+            event.commit();
+        }
+
+        return sink.write(this.path.toPath(), buffer.array(), buffer.size());
+    }
+
+    private static class RenderBuffer extends ByteArrayOutputStream {
+        RenderBuffer() { super(8192); }
+
+        byte[] array() { return this.buf; }
     }
 }
@@ -0,0 +1,106 @@
+package com.twardyece.dmtf;
+
+import com.twardyece.dmtf.text.SnakeCaseName;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The tree of modules in the crate. Generators insert the path of each module file they write, and the tree tracks the
+ * parent modules that must declare them, so that the intermediate modules can be written afterwards. Insertion is
+ * thread-safe, so modules may be inserted as their files are built.
+ *
+ * A module inserted as anonymous is re-exported from its parent (see ModuleContext.addAnonymousSubmodule). If the same
+ * module is inserted both ways, it's anonymous, regardless of the order in which the insertions happened.
+ */
+public class ModuleTree {
+    private final Node root = new Node(CratePath.crateRoot());
+
+    public ModuleTree() {}
+
+    // Insert the module at the crate-local path, and each module containing it.
+    public void insert(CratePath path, boolean anonymous) {
+        if (!path.isCrateLocal()) {
+            throw new IllegalArgumentException("Module " + path + " is not in this crate");
+        }
+
+        List<SnakeCaseName> components = path.getComponents();
+        Node node = this.root;
+        for (int i = 1; i < components.size(); ++i) {
+            node = node.child(components.get(i));
+        }
+        if (anonymous) {
+            node.anonymous = true;
+        }
+    }
+
+    /**
+     * Contexts for the module at the given path and each module beneath it that contains others, in depth-first order.
+     * The module at the path is always included, even if nothing was inserted beneath it, since its parent declares
+     * it. Other leaf modules are left out, since their files are written by whoever inserted them.
+     */
+    public List<ModuleContext> getModules(CratePath path) {
+        List<ModuleContext> modules = new ArrayList<>();
+        Node node = this.find(path);
+        if (null == node) {
+            modules.add(new ModuleContext(path, null));
+        } else {
+            modules.add(node.context());
+            node.collectChildren(modules);
+        }
+        return modules;
+    }
+
+    private Node find(CratePath path) {
+        List<SnakeCaseName> components = path.getComponents();
+        Node node = this.root;
+        for (int i = 1; i < components.size() && null != node; ++i) {
+            node = node.children.get(components.get(i));
+        }
+        return node;
+    }
+
+    private static class Node {
+        private final CratePath path;
+        private final ConcurrentHashMap<SnakeCaseName, Node> children = new ConcurrentHashMap<>();
+        private volatile boolean anonymous;
+
+        private Node(CratePath path) {
+            this.path = path;
+        }
+
+        private Node child(SnakeCaseName name) {
+            return this.children.computeIfAbsent(name, (key) -> new Node(this.path.append(key)));
+        }
+
+        private ModuleContext context() {
+            ModuleContext module = new ModuleContext(this.path, null);
+            for (SnakeCaseName name : this.sortedNames()) {
+                if (this.children.get(name).anonymous) {
+                    module.addAnonymousSubmodule(name);
+                } else {
+                    module.addNamedSubmodule(name);
+                }
+            }
+            return module;
+        }
+
+        private void collectChildren(List<ModuleContext> modules) {
+            for (SnakeCaseName name : this.sortedNames()) {
+                Node child = this.children.get(name);
+                if (!child.children.isEmpty()) {
+                    modules.add(child.context());
+                    child.collectChildren(modules);
+                }
+            }
+        }
+
+        private List<SnakeCaseName> sortedNames() {
+            List<SnakeCaseName> names = new ArrayList<>(this.children.keySet());
+            names.sort(Comparator.naturalOrder());
+            return names;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.twardyece.dmtf;
+
+import com.twardyece.dmtf.output.IOutputSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the files emitted by a run, and removes generated files that a run no longer emits.
+ */
+public class OutputSummary {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutputSummary.class);
+
+    private final Set<Path> emitted = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private final AtomicInteger removed = new AtomicInteger();
+
+    public OutputSummary() {}
+
+    public void record(Path file, boolean wasWritten) {
+        this.emitted.add(file.normalize());
+        if (wasWritten) {
+            this.written.incrementAndGet();
+        } else {
+            this.unchanged.incrementAndGet();
+        }
+    }
+
+    /**
+     * Remove generated files under the directory that were not emitted by this run.
+     */
+    public void removeStaleFiles(IOutputSink sink, Path directory) throws IOException {
+        this.removed.addAndGet(sink.removeStaleFiles(directory, this.emitted));
+    }
+
+    public int getWritten() { return this.written.get(); }
+
+    public int getUnchanged() { return this.unchanged.get(); }
+
+    public int getRemoved() { return this.removed.get(); }
+
+    public void log() {
+        LOGGER.info(this.written.get() + " files written, " + this.unchanged.get() + " unchanged, "
+                + this.removed.get() + " removed");
+    }
+}
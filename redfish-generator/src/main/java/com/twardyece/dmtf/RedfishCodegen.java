@@ -5,8 +5,7 @@ import com.twardyece.dmtf.api.*;
 import com.twardyece.dmtf.api.name.DetailNameMapper;
 import com.twardyece.dmtf.api.name.INameMapper;
 import com.twardyece.dmtf.api.name.NameMapper;
-import com.twardyece.dmtf.identifiers.IdentifierParseError;
-import com.twardyece.dmtf.identifiers.VersionedSchemaIdentifier;
+import com.twardyece.dmtf.identifiers.SchemaNameTable;
 import com.twardyece.dmtf.model.ModelResolver;
 import com.twardyece.dmtf.model.context.ModelContext;
 import com.twardyece.dmtf.model.context.factory.*;
@@ -14,15 +13,22 @@ import com.twardyece.dmtf.model.mapper.IModelFileMapper;
 import com.twardyece.dmtf.model.mapper.SimpleModelMapper;
 import com.twardyece.dmtf.model.mapper.UnversionedModelMapper;
 import com.twardyece.dmtf.model.mapper.VersionedModelMapper;
+import com.twardyece.dmtf.openapi.DocumentCache;
 import com.twardyece.dmtf.openapi.DocumentParser;
+import com.twardyece.dmtf.openapi.ExternalRefLoader;
+import com.twardyece.dmtf.output.*;
 import com.twardyece.dmtf.policies.*;
 import com.twardyece.dmtf.registry.RegistryContext;
 import com.twardyece.dmtf.registry.RegistryFactory;
 import com.twardyece.dmtf.registry.RegistryFileDiscovery;
 import com.twardyece.dmtf.registry.Version;
+import com.twardyece.dmtf.text.Abbreviation;
+import com.twardyece.dmtf.text.BoundedCache;
 import com.twardyece.dmtf.text.CaseConversion;
+import com.twardyece.dmtf.text.DictionaryFile;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.Schema;
 import org.apache.commons.cli.*;
@@ -32,8 +38,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.Collectors;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -44,33 +52,89 @@ import java.util.regex.Pattern;
 public class RedfishCodegen {
     private final String specVersion;
     private final ModelResolver modelResolver;
+    private final SchemaNameTable schemaNames;
     private final TraitContextFactory traitContextFactory;
     private final IModelGenerationPolicy[] modelGenerationPolicies;
     private final IApiGenerationPolicy[] apiGenerationPolicies;
     private final OpenAPI document;
     private final FileFactory fileFactory;
     private final RegistryFileDiscovery registryFileDiscovery;
+    private final TaskRunner taskRunner;
+    private final IOutputSink sink;
+    private final Path manifestFile;
+    private GenerationManifest manifest;
+    private final OutputSummary summary = new OutputSummary();
+    private final Metrics metrics;
+    private final ModuleTree moduleTree = new ModuleTree();
+    private String pathsDigest;
     static final Logger LOGGER = LoggerFactory.getLogger(RedfishCodegen.class);
+    private static final String MANIFEST_FILE = "codegen-manifest.json";
 
-    RedfishCodegen(String apiDirectory, String specVersion, String registryDirectory) {
+    RedfishCodegen(String apiDirectory, String specVersion, String registryDirectory, String cacheDirectory, int jobs,
+                   IOutputSink sink, Path manifestFile, Metrics metrics) {
         this.specVersion = specVersion;
+        this.taskRunner = new TaskRunner(jobs);
+        this.metrics = metrics;
+        this.sink = new MeteredOutputSink(sink, metrics);
+        this.manifestFile = manifestFile;
 
         // Model generation setup
+        this.modelResolver = makeModelResolver();
+        this.schemaNames = this.modelResolver.getSchemaNames();
+        this.fileFactory = makeFileFactory(this.modelResolver);
+
+        DocumentParser parser = makeDocumentParser(apiDirectory);
+        if (null != cacheDirectory) {
+            parser.setDocumentCache(new DocumentCache(Path.of(cacheDirectory)));
+        }
+        parser.setTaskRunner(this.taskRunner);
+        parser.setExternalRefLoader(new ExternalRefLoader(this.taskRunner,
+                null != cacheDirectory ? Path.of(cacheDirectory, "external") : null));
+        parser.setMetrics(metrics);
+
+        // These intrusive/low-level policies need to be applied to the set of models as a whole, but should not be
+        // coupled to context factories.
+        this.modelGenerationPolicies = new IModelGenerationPolicy[2];
+        this.modelGenerationPolicies[0] = new ODataTypePolicy(new ODataTypeIdentifier(this.schemaNames));
+        Map<Pair<String, String>, String> overrides = new HashMap<>();
+        overrides.put(new ImmutablePair<>("odata-v4_Service", "kind"), "monostate::MustBe!(\"Singleton\")");
+        this.modelGenerationPolicies[1] = new PropertyTypeStringOverridePolicy(overrides);
+
+        // API generation setup
+        this.traitContextFactory = makeTraitContextFactory(this.modelResolver);
+
+        this.apiGenerationPolicies = new IApiGenerationPolicy[1];
+        this.apiGenerationPolicies[0] = new PatchRequestBodyTypePolicy();
+
+        // Registry generation
+        this.registryFileDiscovery = new RegistryFileDiscovery(Path.of(registryDirectory));
+
+        try (Metrics.Timer timer = metrics.start("parse")) {
+            this.document = parser.parse();
+        }
+    }
+
+    public static ModelResolver makeModelResolver() {
         IModelFileMapper[] modelMappers = new IModelFileMapper[4];
         modelMappers[0] = new VersionedModelMapper();
         modelMappers[1] = new SimpleModelMapper(Pattern.compile("Redfish(?<model>[a-zA-Z0-9]*)"), new SnakeCaseName("redfish"));
         modelMappers[2] = new SimpleModelMapper(Pattern.compile("odata-v4_(?<model>[a-zA-Z0-9]*)"), new SnakeCaseName("odata_v4"));
         modelMappers[3] = new UnversionedModelMapper();
 
-        this.modelResolver = new ModelResolver(modelMappers);
+        return new ModelResolver(modelMappers);
+    }
+
+    public static FileFactory makeFileFactory(ModelResolver modelResolver) {
         IModelContextFactory[] factories = new IModelContextFactory[5];
         factories[0] = new EnumContextFactory();
         factories[1] = new FreeFormObjectContextFactory();
-        factories[2] = new StructContextFactory(this.modelResolver);
-        factories[3] = new TupleContextFactory(this.modelResolver);
-        factories[4] = new UnionContextFactory(this.modelResolver, new UnionVariantParser());
-        this.fileFactory = new FileFactory(new DefaultMustacheFactory(), factories);
+        factories[2] = new StructContextFactory(modelResolver);
+        factories[3] = new TupleContextFactory(modelResolver);
+        factories[4] = new UnionContextFactory(modelResolver, new UnionVariantParser(modelResolver.getSchemaNames()));
+        return new FileFactory(new DefaultMustacheFactory(), factories);
+    }
 
+    public static DocumentParser makeDocumentParser(String apiDirectory) {
         DocumentParser parser = new DocumentParser(apiDirectory + "/openapi.yaml");
 
         // The DocumentParser will automatically generate names for inlined schemas. Having run the tool and seen (in the
@@ -79,16 +143,10 @@ public class RedfishCodegen {
         parser.addInlineSchemaNameMapping("RedfishError_error", "RedfishRedfishError");
         parser.addInlineSchemaNameMapping("_redfish_v1_odata_get_200_response", "odata-v4_ServiceDocument");
         parser.addInlineSchemaNameMapping("_redfish_v1_odata_get_200_response_value_inner", "odata-v4_Service");
+        return parser;
+    }
 
-        // These intrusive/low-level policies need to be applied to the set of models as a whole, but should not be
-        // coupled to context factories.
-        this.modelGenerationPolicies = new IModelGenerationPolicy[2];
-        this.modelGenerationPolicies[0] = new ODataTypePolicy(new ODataTypeIdentifier());
-        Map<Pair<String, String>, String> overrides = new HashMap<>();
-        overrides.put(new ImmutablePair<>("odata-v4_Service", "kind"), "monostate::MustBe!(\"Singleton\")");
-        this.modelGenerationPolicies[1] = new PropertyTypeStringOverridePolicy(overrides);
-
-        // API generation setup
+    public static TraitContextFactory makeTraitContextFactory(ModelResolver modelResolver) {
         List<INameMapper> nameMappers = new ArrayList<>();
         nameMappers.add(new NameMapper(Pattern.compile("^(?<name>[A-Za-z0-9]+)$"), "name"));
         nameMappers.add(new DetailNameMapper());
@@ -99,76 +157,90 @@ public class RedfishCodegen {
         Map<PascalCaseName, PascalCaseName> traitNameOverrides = new HashMap<>();
         traitNameOverrides.put(new PascalCaseName("V1"), new PascalCaseName("ServiceRoot"));
 
-        this.traitContextFactory = new TraitContextFactory(this.modelResolver, endpointResolver, traitNameOverrides);
-
-        this.apiGenerationPolicies = new IApiGenerationPolicy[1];
-        this.apiGenerationPolicies[0] = new PatchRequestBodyTypePolicy();
-
-        // Registry generation
-        this.registryFileDiscovery = new RegistryFileDiscovery(Path.of(registryDirectory));
-
-        this.document = parser.parse();
+        return new TraitContextFactory(modelResolver, endpointResolver, traitNameOverrides);
     }
 
     private Map<String, ModuleFile<ModelContext>> generateModels() throws IOException {
-        // Translate each schema into a ModuleFile with associated model context
-        Map<String, ModuleFile<ModelContext>> models = new HashMap<>();
-        for (Map.Entry<String, Schema> schema : this.document.getComponents().getSchemas().entrySet()) {
-            RustType result = this.modelResolver.resolvePath(schema.getKey());
+        // Translate each schema into a ModuleFile with associated model context. Contexts may be built concurrently,
+        // but results are collected in document order, so the model map is populated exactly as in a serial run.
+        List<Map.Entry<String, Schema>> schemas = new ArrayList<>(this.document.getComponents().getSchemas().entrySet());
+        this.metrics.add("schemasProcessed", schemas.size());
+        List<ModuleFile<ModelContext>> modelFiles = this.taskRunner.map(schemas, (schema) -> {
+            RustType result = this.schemaNames.get(schema.getKey()).getRustType();
             if (null == result) {
                 LOGGER.warn("no match for model " + schema.getValue().getName());
-                continue;
+                return null;
             }
 
-            ModuleFile<ModelContext> modelFile = this.fileFactory.makeModelFile(result, schema.getValue());
+            return this.fileFactory.makeModelFile(result, schema.getValue());
+        });
+
+        Map<String, ModuleFile<ModelContext>> models = new HashMap<>();
+        for (int i = 0; i < schemas.size(); ++i) {
+            ModuleFile<ModelContext> modelFile = modelFiles.get(i);
             if (null != modelFile) {
-                models.put(schema.getKey(), modelFile);
+                models.put(schemas.get(i).getKey(), modelFile);
             }
         }
 
         // Apply model generation policies
-        for (IModelGenerationPolicy policy : this.modelGenerationPolicies) {
-            policy.apply(models);
+        try (Metrics.Timer timer = this.metrics.start("applyModelPolicies")) {
+            for (IModelGenerationPolicy policy : this.modelGenerationPolicies) {
+                policy.apply(models);
+            }
         }
-
-        // Generate all the models
-        Map<String, ModuleContext> intermediateModules = new HashMap<>();
-        for (ModuleFile<ModelContext> modelFile : models.values()) {
-            modelFile.getContext().moduleContext.registerModel(intermediateModules);
-            modelFile.generate();
+        this.metrics.add("models", models.size());
+
+        // Each schema should resolve to its own file. If two don't, the last one in map order wins, just as when the
+        // files were written serially, and the other is lost.
+        Map<CratePath, String> files = new LinkedHashMap<>();
+        for (Map.Entry<String, ModuleFile<ModelContext>> model : models.entrySet()) {
+            String previous = files.put(model.getValue().path, model.getKey());
+            assert null == previous : previous + " and " + model.getKey() + " are both generated to "
+                    + model.getValue().path;
         }
 
+        // Generate all the models, re-exporting each from its parent module
+        this.taskRunner.forEach(files.values(), (name) -> {
+            ModuleFile<ModelContext> model = models.get(name);
+            this.moduleTree.insert(model.path, true);
+            this.emit(model, () -> new FileInputs().add("schema:" + name,
+                    Json.mapper().writeValueAsString(this.document.getComponents().getSchemas().get(name))));
+        });
+
         // Generate intermediate modules
-        for (ModuleContext module : intermediateModules.values()) {
-            ModuleFile<ModuleContext> file = this.fileFactory.makeModuleFile(module);
-            file.generate();
-        }
+        CratePath modelsPath = CratePath.crateRoot().append(RustConfig.MODELS_BASE_MODULE);
+        this.taskRunner.forEach(this.moduleTree.getModules(modelsPath),
+                (module) -> this.emit(this.fileFactory.makeModuleFile(module), () -> moduleInputs(module)));
 
         return models;
     }
 
     private void generateApis() throws IOException {
         PathMap map = new PathMap(this.document.getPaths(), this.traitContextFactory);
-        for (IApiGenerationPolicy policy : this.apiGenerationPolicies) {
-            policy.apply(map.borrowGraph(), map.getRoot());
+        try (Metrics.Timer timer = this.metrics.start("applyApiPolicies")) {
+            for (IApiGenerationPolicy policy : this.apiGenerationPolicies) {
+                policy.apply(map.borrowGraph(), map.getRoot());
+            }
         }
 
-        List<SnakeCaseName> apiModulePathComponents = new ArrayList<>();
-        apiModulePathComponents.add(RustConfig.API_BASE_MODULE);
-        CratePath apiModulePath = CratePath.crateLocal(apiModulePathComponents);
-        ModuleContext apiModule = new ModuleContext(apiModulePath, null);
-        int pathDepth = apiModulePath.getComponents().size();
+        CratePath apiModulePath = CratePath.crateRoot().append(RustConfig.API_BASE_MODULE);
+        int pathDepth = apiModulePath.getDepth();
 
         for (TraitContext trait : map.getTraits()) {
-            if (trait.moduleContext.path.getComponents().size() == pathDepth + 1) {
-                apiModule.addNamedSubmodule(trait.moduleContext.path.getLastComponent());
+            // Traits nested under another are declared by the file of their parent trait.
+            if (trait.moduleContext.path.getDepth() == pathDepth + 1) {
+                this.moduleTree.insert(trait.moduleContext.path, false);
             }
+            this.metrics.increment("traits");
             ModuleFile<TraitContext> file = this.fileFactory.makeTraitFile(trait);
-            file.generate();
+            // Trait contexts are assembled from the whole path tree, so every trait depends on all of it.
+            this.emit(file, () -> new FileInputs().addHash("paths", this.getPathsDigest()));
         }
 
-        ModuleFile<ModuleContext> apiFile = this.fileFactory.makeModuleFile(apiModule);
-        apiFile.generate();
+        for (ModuleContext module : this.moduleTree.getModules(apiModulePath)) {
+            this.emit(this.fileFactory.makeModuleFile(module), () -> moduleInputs(module));
+        }
     }
 
     private void generateLib() throws IOException {
@@ -177,50 +249,125 @@ public class RedfishCodegen {
         file.getContext().moduleContext.addNamedSubmodule(RustConfig.MODELS_BASE_MODULE);
         file.getContext().moduleContext.addNamedSubmodule(RustConfig.REGISTRY_BASE_MODULE);
 
-        file.generate();
+        this.emit(file, () -> moduleInputs(file.getContext().moduleContext));
     }
 
-    private void generateRegistries(RegistryFactory factory) throws IOException {
-        List<SnakeCaseName> components = new ArrayList<>();
-        components.add(RustConfig.REGISTRY_BASE_MODULE);
-        CratePath registryModulePath = CratePath.crateLocal(components);
-        ModuleContext registriesModule = new ModuleContext(registryModulePath, null);
+    private void generateRegistries(RegistryFactory factory, FileInputs registryInputs) throws IOException {
+        CratePath registryModulePath = CratePath.crateRoot().append(RustConfig.REGISTRY_BASE_MODULE);
 
         List<RegistryFileDiscovery.Registry> registries = this.registryFileDiscovery.getRegistries();
+        this.metrics.add("registries", registries.size());
         for (RegistryFileDiscovery.Registry registry : registries) {
-            registriesModule.addNamedSubmodule(CaseConversion.toSnakeCase(registry.name));
-
             CratePath parentPath = registryModulePath.append(CaseConversion.toSnakeCase(registry.name));
-            ModuleContext registryContext = new ModuleContext(parentPath, null);
-
             SnakeCaseName version = new SnakeCaseName("v" + registry.version);
             CratePath registryPath = parentPath.append(version);
             RegistryContext context = factory.makeRegistry(
                     new RustType(registryPath, new PascalCaseName(registry.name)), registry.file);
 
-            registryContext.addNamedSubmodule(version);
-
-            ModuleFile<ModuleContext> registryFile = this.fileFactory.makeModuleFile(registryContext);
-            registryFile.generate();
-
+            this.moduleTree.insert(registryPath, false);
             ModuleFile<RegistryContext> file = this.fileFactory.makeRegistryFile(context);
-            file.generate();
+            this.emit(file, () -> new FileInputs()
+                    .addAll(registryInputs)
+                    .add("registry:" + registry.file.getFileName(), Files.readAllBytes(registry.file)));
         }
 
-        ModuleFile<ModuleContext> registriesFile = this.fileFactory.makeModuleFile(registriesModule);
-        registriesFile.generate();
+        for (ModuleContext module : this.moduleTree.getModules(registryModulePath)) {
+            this.emit(this.fileFactory.makeModuleFile(module), () -> moduleInputs(module));
+        }
     }
 
     public void generate() throws IOException {
-        Map<String, ModuleFile<ModelContext>> models = this.generateModels();
+        try {
+            if (null != this.manifestFile) {
+                this.manifest = GenerationManifest.load(this.manifestFile, this.getCommonInputs());
+            }
+
+            Map<String, ModuleFile<ModelContext>> models;
+            try (Metrics.Timer timer = this.metrics.start("generateModels")) {
+                models = this.generateModels();
+            }
+
+            try (Metrics.Timer timer = this.metrics.start("generateApis")) {
+                this.generateApis();
+            }
+            try (Metrics.Timer timer = this.metrics.start("generateLib")) {
+                this.generateLib();
+            }
+
+            RustType messageType = this.getMessageType(models);
+            RustType health = this.modelResolver.resolvePath("Resource_Health");
+            RegistryFactory factory = new RegistryFactory(messageType, health);
+            FileInputs registryInputs = new FileInputs()
+                    .add("messageType", messageType.toString())
+                    .add("health", health.toString());
+            try (Metrics.Timer timer = this.metrics.start("generateRegistries")) {
+                this.generateRegistries(factory, registryInputs);
+            }
 
-        this.generateApis();
-        this.generateLib();
+            if (null != this.manifest) {
+                this.manifest.save();
+            }
+
+            this.metrics.add("modelResolverHits", this.modelResolver.getHits());
+            this.metrics.add("modelResolverMisses", this.modelResolver.getMisses());
+            this.reportCache("pascalCase", CaseConversion.getPascalCaseCache());
+            this.reportCache("snakeCase", CaseConversion.getSnakeCaseCache());
+            this.reportCache("propertyName", RustConfig.getPropertyNameCache());
+            this.reportCache("identifier", RustConfig.getIdentifierCache());
+
+            this.summary.removeStaleFiles(this.sink, Path.of(RustConfig.CRATE_SOURCE_DIRECTORY.toString()));
+            this.summary.log();
+        } finally {
+            this.taskRunner.shutdown();
+            this.sink.close();
+        }
+    }
 
-        RustType messageType = this.getMessageType(models);
-        RustType health = this.modelResolver.resolvePath("Resource_Health");
-        RegistryFactory factory = new RegistryFactory(messageType, health);
-        this.generateRegistries(factory);
+    private void reportCache(String name, BoundedCache<?, ?> cache) {
+        this.metrics.add(name + "CacheHits", cache.getHits());
+        this.metrics.add(name + "CacheMisses", cache.getMisses());
+        this.metrics.add(name + "CacheEvictions", cache.getEvictions());
+        this.metrics.gauge(name + "CacheHitRatio", cache.getHitRatio());
+    }
+
+    private FileInputs getCommonInputs() throws IOException {
+        FileInputs inputs = new FileInputs()
+                .addHash("generator", GenerationManifest.hashGenerator())
+                .add("specVersion", this.specVersion);
+        for (IModelGenerationPolicy policy : this.modelGenerationPolicies) {
+            inputs.add("policy:" + policy.getClass().getSimpleName(), policy.getClass().getName());
+        }
+        for (IApiGenerationPolicy policy : this.apiGenerationPolicies) {
+            inputs.add("policy:" + policy.getClass().getSimpleName(), policy.getClass().getName());
+        }
+        // The bundled dictionaries are part of the generator, but extensions to them are not.
+        for (DictionaryFile dictionary : List.of(Abbreviation.DICTIONARY, RustConfig.KEYWORD_DICTIONARY)) {
+            if (null != dictionary.getExtension()) {
+                inputs.add("dictionary:" + dictionary.getExtension(), Files.readAllBytes(dictionary.getExtension()));
+            }
+        }
+        return inputs;
+    }
+
+    private synchronized String getPathsDigest() throws IOException {
+        if (null == this.pathsDigest) {
+            this.pathsDigest = FileInputs.hash(Json.mapper().writeValueAsBytes(this.document.getPaths()));
+        }
+        return this.pathsDigest;
+    }
+
+    private static FileInputs moduleInputs(ModuleContext module) {
+        String submodules = module.submodules().stream()
+                .map((submodule) -> submodule.name() + (submodule.isUsed ? " (used)" : ""))
+                .collect(Collectors.joining(","));
+        return new FileInputs().add("submodules", submodules);
+    }
+
+    private void emit(ModuleFile<?> file, InputSupplier inputs) throws IOException {
+        boolean written = null == this.manifest
+                ? file.generate(this.sink)
+                : this.manifest.generate(file, inputs.get(), this.sink);
+        this.summary.record(file.path.toPath(), written);
     }
 
     private RustType getMessageType(Map<String, ModuleFile<ModelContext>> models) {
@@ -230,15 +377,10 @@ public class RedfishCodegen {
                     Matcher matcher = messagePattern.matcher(k);
                     return matcher.find();
                 })
-                .map((m) -> {
-                    try {
-                        VersionedSchemaIdentifier identifier = new VersionedSchemaIdentifier(m);
-                        return Version.parse(identifier.getVersion().toString(),
-                                Pattern.compile("v([0-9]+)_([0-9]+)_([0-9]+)"));
-                    } catch (IdentifierParseError e) {
-                        return null;
-                    }
-                })
+                .map((m) -> this.schemaNames.get(m).getVersioned()
+                        .map((identifier) -> Version.parse(identifier.getVersion().toString(),
+                                Pattern.compile("v([0-9]+)_([0-9]+)_([0-9]+)")))
+                        .orElse(null))
                 .filter(Objects::nonNull)
                 .max(Version::compareTo)
                 .get();
@@ -248,6 +390,11 @@ public class RedfishCodegen {
         return models.get(messageModel).getContext().rustType;
     }
 
+    @FunctionalInterface
+    private interface InputSupplier {
+        FileInputs get() throws IOException;
+    }
+
     public static void main(String[] args) {
         Option apiDirectoryOption = new Option("apiDirectory", true,
                 "Directory containing openapi resource files");
@@ -258,11 +405,30 @@ public class RedfishCodegen {
         Option registryDirectoryOption = new Option("registryDirectory", true,
                 "Directory containing registry definition files");
         registryDirectoryOption.setRequired(true);
+        Option jobsOption = new Option("jobs", true,
+                "Number of worker threads used to render models (default: 1)");
+        jobsOption.setType(Number.class);
+        Option cacheDirectoryOption = new Option("cacheDirectory", true,
+                "Directory in which to cache the parsed document between runs");
+        Option incrementalOption = new Option("incremental", false,
+                "Only render files whose inputs changed since the last run, as recorded in " + MANIFEST_FILE);
+        Option metricsOption = new Option("metrics", true,
+                "Write timings and counters for each phase of the run to this file, as JSON");
+        Option sinkOption = new Option("sink", true,
+                "Where to emit the crate: one of directory, memory, tar or zip (default: directory)");
+        Option outputOption = new Option("output", true,
+                "The output directory, or archive file for the tar and zip sinks (default: the working directory)");
 
         Options options = new Options();
         options.addOption(apiDirectoryOption);
         options.addOption(crateDirectoryOption);
         options.addOption(registryDirectoryOption);
+        options.addOption(jobsOption);
+        options.addOption(cacheDirectoryOption);
+        options.addOption(incrementalOption);
+        options.addOption(sinkOption);
+        options.addOption(metricsOption);
+        options.addOption(outputOption);
 
         CommandLineParser parser = new DefaultParser();
         HelpFormatter formatter = new HelpFormatter();
@@ -273,9 +439,45 @@ public class RedfishCodegen {
             String apiDirectory = command.getOptionValue("apiDirectory");
             String specVersion = command.getOptionValue("specVersion");
             String registryDirectory = command.getOptionValue("registryDirectory");
+            Number jobsValue = (Number) command.getParsedOptionValue("jobs");
+            int jobs = null != jobsValue ? jobsValue.intValue() : 1;
+            String cacheDirectory = command.getOptionValue("cacheDirectory");
+
+            String output = command.getOptionValue("output");
+            String sinkType = command.getOptionValue("sink", "directory");
+            IOutputSink sink;
+            switch (sinkType) {
+                case "directory" -> sink = new FileSystemOutputSink(Path.of(null != output ? output : "."));
+                case "memory" -> sink = new MemoryOutputSink();
+                case "tar", "zip" -> {
+                    if (null == output) {
+                        throw new ParseException("The " + sinkType + " sink requires -output");
+                    }
+                    sink = "tar".equals(sinkType)
+                            ? new TarOutputSink(Path.of(output))
+                            : new ZipOutputSink(Path.of(output));
+                }
+                default -> throw new ParseException("Unknown sink " + sinkType);
+            }
+
+            // Previous output can only be inspected in a directory, so incremental runs require the directory sink.
+            Path manifestFile = null;
+            if (command.hasOption("incremental")) {
+                if (sink instanceof FileSystemOutputSink) {
+                    manifestFile = Path.of(null != output ? output : ".").resolve(MANIFEST_FILE);
+                } else {
+                    LOGGER.warn("Ignoring -incremental, which is only supported by the directory sink");
+                }
+            }
 
-            RedfishCodegen codegen = new RedfishCodegen(apiDirectory, specVersion, registryDirectory);
+            Metrics metrics = new Metrics();
+            RedfishCodegen codegen = new RedfishCodegen(apiDirectory, specVersion, registryDirectory, cacheDirectory,
+                    jobs, sink, manifestFile, metrics);
             codegen.generate();
+
+            if (command.hasOption("metrics")) {
+                metrics.write(Path.of(command.getOptionValue("metrics")));
+            }
         } catch (ParseException e) {
             System.out.println(e.getMessage());
             formatter.printHelp("RedfishCodegen", options);
@@ -15,19 +15,45 @@ public class RustConfig {
     public static final SnakeCaseName CRATE_SOURCE_DIRECTORY = new SnakeCaseName("src");
     public static final SnakeCaseName CRATE_ROOT_MODULE = new SnakeCaseName("crate");
     public static final String CRATE_ROOT_FILE = "lib.rs";
+    public static final DictionaryFile KEYWORD_DICTIONARY;
     public static final List<SnakeCaseName> RESERVED_KEYWORDS;
+    private static final PerfectHashSet reservedKeywordTable;
+    // These keywords can't be raw identifiers, so they can't be escaped.
+    private static final Set<String> UNESCAPABLE_KEYWORDS = Set.of("crate", "self", "super", "Self");
 
     private static final Pattern reservedCharactersInFirstPosition = Pattern.compile("^@");
     private static final Pattern invalidCharacters = Pattern.compile("[@./:#-]");
 
+    // Property names and enum variants recur across every version of every schema, so sanitized names are cached.
+    private static final int CACHE_CAPACITY = 16384;
+    private static final BoundedCache<String, SnakeCaseName> propertyNameCache = new BoundedCache<>(CACHE_CAPACITY);
+    private static final BoundedCache<String, PascalCaseName> identifierCache = new BoundedCache<>(CACHE_CAPACITY);
+
     static {
-        RESERVED_KEYWORDS = new ArrayList<>();
-        RESERVED_KEYWORDS.add(new SnakeCaseName("type"));
-        RESERVED_KEYWORDS.add(new SnakeCaseName("ref"));
+        KEYWORD_DICTIONARY = new DictionaryFile("dictionaries/keywords.txt", "com.twardyece.dmtf.keywords");
+        List<SnakeCaseName> keywords = new ArrayList<>();
+        for (DictionaryFile.Entry entry : KEYWORD_DICTIONARY.getEntries()) {
+            if (1 != entry.fields().length) {
+                throw entry.error("expected one keyword per line");
+            }
+
+            String keyword = entry.fields()[0];
+            Optional<SnakeCaseName> name = SnakeCaseName.tryParse(keyword);
+            if (name.isEmpty() || !keyword.equals(name.get().toString())) {
+                throw entry.error("keyword " + keyword + " is not a snake_case identifier");
+            }
+            if (UNESCAPABLE_KEYWORDS.contains(keyword)) {
+                throw entry.error("keyword " + keyword + " can't be used as a raw identifier");
+            }
+            keywords.add(name.get());
+        }
+        RESERVED_KEYWORDS = Collections.unmodifiableList(keywords);
+        reservedKeywordTable = new PerfectHashSet(keywords.stream().map(SnakeCaseName::toString).toList());
     }
 
     public static SnakeCaseName escapeReservedKeyword(SnakeCaseName identifier) {
-        if (RESERVED_KEYWORDS.contains(identifier)) {
+        // Names intern their string form, so this is almost always an identity comparison.
+        if (reservedKeywordTable.contains(identifier.toString())) {
             return new SnakeCaseName("r#" + identifier.toString());
         } else {
             return identifier;
@@ -35,6 +61,18 @@ public class RustConfig {
     }
 
     public static SnakeCaseName sanitizePropertyName(String name) {
+        return propertyNameCache.get(name, RustConfig::convertPropertyName);
+    }
+
+    public static PascalCaseName sanitizeIdentifier(String name) {
+        return identifierCache.get(name, RustConfig::convertIdentifier);
+    }
+
+    public static BoundedCache<String, SnakeCaseName> getPropertyNameCache() { return propertyNameCache; }
+
+    public static BoundedCache<String, PascalCaseName> getIdentifierCache() { return identifierCache; }
+
+    private static SnakeCaseName convertPropertyName(String name) {
         List<SnakeCaseName> safeName = Arrays.stream(
                         replaceInvalidCharacters(
                                 removeReservedCharactersInFirstPosition(name))
@@ -45,7 +83,7 @@ public class RustConfig {
         return RustConfig.escapeReservedKeyword(new SnakeCaseName(safeName));
     }
 
-    public static PascalCaseName sanitizeIdentifier(String name) {
+    private static PascalCaseName convertIdentifier(String name) {
         List<PascalCaseName> components = Arrays.stream(
                 replaceInvalidCharacters(
                         removeReservedCharactersInFirstPosition(name)
@@ -1,62 +1,89 @@
 package com.twardyece.dmtf;
 
 import com.twardyece.dmtf.text.ICaseConvertible;
+import com.twardyece.dmtf.text.IdentifierTable;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
 public class RustType implements Comparable<RustType> {
     // The absolute path of the type (i.e., where its definition lives)
-    private CratePath path;
-    // The path of the type, taking into consideration any namespaces which are importing with "use" statements
-    // TODO: Removing importPath will make this class much simpler.
-    private CratePath importPath;
-    private ICaseConvertible name;
-    private RustType innerType;
+    private final CratePath path;
+    private final ICaseConvertible name;
+    private final RustType innerType;
+    // The absolute name of the type, interned in the IdentifierTable. Computed on first use.
+    private String value;
+    // The name of the type in a module that imports it. Computed on first use.
+    private String importedValue;
 
     public RustType(SnakeCaseName name) {
-        this.name = name;
+        this(null, name, null);
     }
 
     public RustType(CratePath path, PascalCaseName name) {
-        this.path = path;
-        this.importPath = path;
-        this.name = name;
+        this(path, name, null);
     }
 
     public RustType(CratePath path, PascalCaseName name, RustType innerType) {
+        this(path, (ICaseConvertible) name, innerType);
+    }
+
+    private RustType(CratePath path, ICaseConvertible name, RustType innerType) {
         this.path = path;
-        this.importPath = path;
         this.name = name;
         this.innerType = innerType;
     }
 
     @Override
     public String toString() {
+        if (null == this.value) {
+            this.value = IdentifierTable.intern(render(this.path, false));
+        }
+        return this.value;
+    }
+
+    /**
+     * The name of the type in a module that imports it. A ModuleContext imports the top-level module of each
+     * crate-local type it depends on, so those types are named relative to the crate root, e.g. models::foo::Foo.
+     */
+    public String toImportedString() {
+        if (null == this.importedValue) {
+            this.importedValue = render(getImportPath(), true);
+        }
+        return this.importedValue;
+    }
+
+    /**
+     * The path of the type relative to the module that a dependent module imports.
+     */
+    public CratePath getImportPath() {
+        if (!this.isPrimitive() && this.path.isCrateLocal() && this.path.getDepth() > 1) {
+            return this.path.suffix(1);
+        }
+        return this.path;
+    }
+
+    private String render(CratePath path, boolean imported) {
         String value;
-        if (null != this.importPath) {
-            value = this.importPath.joinComponent(this.name);
+        if (null != path) {
+            value = path.joinComponent(this.name);
         } else {
             value = this.name.toString();
         }
         if (null != this.innerType) {
-                value += "<" + this.innerType + ">";
+            value += "<" + (imported ? this.innerType.toImportedString() : this.innerType.toString()) + ">";
         }
 
         return value;
     }
 
     public CratePath getPath() { return this.path; }
-    public void setPath(CratePath cratePath) { this.path = cratePath; }
 
     // A type is primitive if it does not require importing its containing module.
     public boolean isPrimitive() { return null == this.path; }
 
-    public void setImportPath(CratePath path) { this.importPath = path; }
-
     public RustType getInnerType() { return this.innerType; }
 
     public ICaseConvertible getName() { return this.name; }
-    public void setName(ICaseConvertible name) { this.name = name; }
 
     @Override
     public int compareTo(RustType o) {
@@ -66,7 +93,8 @@ public class RustType implements Comparable<RustType> {
     @Override
     public boolean equals(Object o) {
         if (o instanceof RustType) {
-            return this.toString().equals(o.toString());
+            // Both strings are interned.
+            return this.toString() == o.toString();
         } else {
             return false;
         }
@@ -0,0 +1,90 @@
+package com.twardyece.dmtf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs independent units of generator work, either on the calling thread or fanned out across a ForkJoinPool. Results
+ * are always returned in the order of the input, so the output of a parallel run is identical to a serial one.
+ */
+public class TaskRunner {
+    private final ForkJoinPool pool;
+
+    public TaskRunner(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Worker count must be positive, got " + workers);
+        }
+
+        // A single worker is the historical, serial behavior. Don't bother with a pool in that case.
+        this.pool = 1 == workers ? null : new ForkJoinPool(workers, WorkerThread::new, null, false);
+    }
+
+    public int getWorkers() { return null == this.pool ? 1 : this.pool.getParallelism(); }
+
+    public <T, R> List<R> map(List<T> items, Function<T, R> function) {
+        if (null == this.pool) {
+            List<R> results = new ArrayList<>(items.size());
+            for (T item : items) {
+                results.add(function.apply(item));
+            }
+            return results;
+        }
+
+        // Parallel streams started from within a ForkJoinPool execute in that pool, and collect() preserves the
+        // encounter order of the source list.
+        return this.pool.submit(() -> items.parallelStream().map(function).collect(Collectors.toList())).join();
+    }
+
+    public <T> void forEach(Collection<T> items, Task<T> task) throws IOException {
+        if (null == this.pool) {
+            for (T item : items) {
+                task.run(item);
+            }
+            return;
+        }
+
+        try {
+            this.pool.submit(() -> items.parallelStream().forEach((item) -> {
+                try {
+                    task.run(item);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })).join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void shutdown() {
+        if (null != this.pool) {
+            this.pool.shutdown();
+        }
+    }
+
+    // Workers that sit idle for a while exit, possibly in the middle of a phase, so they report what they allocated
+    // to Metrics on their way out.
+    private static class WorkerThread extends ForkJoinWorkerThread {
+        private WorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        @Override
+        protected void onTermination(Throwable exception) {
+            Metrics.threadExiting();
+            super.onTermination(exception);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Task<T> {
+        void run(T item) throws IOException;
+    }
+}
@@ -55,7 +55,7 @@ public class TraitContext implements Comparable<TraitContext> {
 
         public RustType rustType;
 
-        public String type() { return this.rustType.toString(); }
+        public String type() { return this.rustType.toImportedString(); }
     }
 
     public static class Parameter {
@@ -72,7 +72,7 @@ public class TraitContext implements Comparable<TraitContext> {
         }
 
         public String type() {
-            return this.rustType.toString();
+            return this.rustType.toImportedString();
         }
     }
 
@@ -4,6 +4,7 @@ import com.twardyece.dmtf.CratePath;
 import com.twardyece.dmtf.RustConfig;
 import com.twardyece.dmtf.RustIdentifier;
 import com.twardyece.dmtf.RustType;
+import com.twardyece.dmtf.events.MakeTraitContextEvent;
 import com.twardyece.dmtf.model.ModelResolver;
 import com.twardyece.dmtf.model.context.EnumContext;
 import com.twardyece.dmtf.model.context.ModelContext;
@@ -53,6 +54,17 @@ public class TraitContextFactory {
     }
 
     public TraitContext makeTraitContext(List<String> path, PathItem pathItem) {
+        MakeTraitContextEvent event = new MakeTraitContextEvent();
+        event.begin();
+        TraitContext traitContext = this.buildTraitContext(path, pathItem);
+        if (event.shouldCommit()) {
+            event.path = "/" + String.join("/", path);
+            event.commit();
+        }
+        return traitContext;
+    }
+
+    private TraitContext buildTraitContext(List<String> path, PathItem pathItem) {
         EndpointResolver.ApiMatchResult result = getMatch(path);
 
         Map<PathItem.HttpMethod, io.swagger.v3.oas.models.Operation> pathOperations = pathItem.readOperationsMap();
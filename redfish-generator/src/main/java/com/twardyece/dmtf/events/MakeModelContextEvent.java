@@ -0,0 +1,22 @@
+package com.twardyece.dmtf.events;
+
+import jdk.jfr.*;
+
+@Name("com.twardyece.dmtf.MakeModelContext")
+@Label("Make Model Context")
+@Description("A single attempt by a model context factory to translate a schema")
+@Category({"Redfish Codegen"})
+@StackTrace(false)
+public class MakeModelContextEvent extends Event {
+    @Label("Factory")
+    @Description("The model context factory")
+    public String factory;
+
+    @Label("Rust Type")
+    @Description("The Rust type being generated")
+    public String rustType;
+
+    @Label("Matched")
+    @Description("Whether the factory produced a context")
+    public boolean matched;
+}
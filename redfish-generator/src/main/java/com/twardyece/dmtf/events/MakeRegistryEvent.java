@@ -0,0 +1,14 @@
+package com.twardyece.dmtf.events;
+
+import jdk.jfr.*;
+
+@Name("com.twardyece.dmtf.MakeRegistry")
+@Label("Make Registry")
+@Description("Translation of a message registry file into a registry context")
+@Category({"Redfish Codegen"})
+@StackTrace(false)
+public class MakeRegistryEvent extends Event {
+    @Label("Registry")
+    @Description("The registry file")
+    public String registry;
+}
@@ -0,0 +1,14 @@
+package com.twardyece.dmtf.events;
+
+import jdk.jfr.*;
+
+@Name("com.twardyece.dmtf.MakeTraitContext")
+@Label("Make Trait Context")
+@Description("Translation of a path item into a trait context")
+@Category({"Redfish Codegen"})
+@StackTrace(false)
+public class MakeTraitContextEvent extends Event {
+    @Label("Path")
+    @Description("The endpoint path")
+    public String path;
+}
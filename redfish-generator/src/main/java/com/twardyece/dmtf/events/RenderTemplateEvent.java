@@ -0,0 +1,18 @@
+package com.twardyece.dmtf.events;
+
+import jdk.jfr.*;
+
+@Name("com.twardyece.dmtf.RenderTemplate")
+@Label("Render Template")
+@Description("Execution of a Mustache template for one generated file")
+@Category({"Redfish Codegen"})
+@StackTrace(false)
+public class RenderTemplateEvent extends Event {
+    @Label("Template")
+    @Description("The template name")
+    public String template;
+
+    @Label("Path")
+    @Description("The generated module")
+    public String path;
+}
@@ -0,0 +1,22 @@
+package com.twardyece.dmtf.events;
+
+import jdk.jfr.*;
+
+@Name("com.twardyece.dmtf.ResolveModel")
+@Label("Resolve Model")
+@Description("Resolution of an OpenAPI schema name or reference to a Rust type")
+@Category({"Redfish Codegen"})
+@StackTrace(false)
+public class ResolveModelEvent extends Event {
+    @Label("Operation")
+    @Description("The resolver entry point")
+    public String operation;
+
+    @Label("Schema")
+    @Description("The schema name or reference")
+    public String name;
+
+    @Label("Rust Type")
+    @Description("The resolved Rust type, if any")
+    public String rustType;
+}
@@ -0,0 +1,70 @@
+package com.twardyece.dmtf.identifiers;
+
+import com.twardyece.dmtf.RustType;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * What the generator knows about the name of a schema in the OpenAPI document: how it parses, its OData type, and the
+ * Rust type it maps to. Each is worked out when first asked for, and remembered.
+ */
+public class SchemaName {
+    private final String name;
+    private final Function<String, RustType> resolver;
+    // Computed on first use. Threads racing to compute them produce equal values. Each value keeps its state in final
+    // fields, apart from strings it caches and can recompute, so a thread that reads one set by another sees it whole
+    // without these being volatile. Parsing may throw, as it would for the caller parsing the name itself, in which
+    // case nothing is remembered.
+    private Optional<VersionedSchemaIdentifier> versioned;
+    private Optional<UnversionedSchemaIdentifier> unversioned;
+    private String odataType;
+    private Optional<RustType> rustType;
+
+    SchemaName(String name, Function<String, RustType> resolver) {
+        this.name = name;
+        this.resolver = resolver;
+    }
+
+    public String getName() { return this.name; }
+
+    public Optional<VersionedSchemaIdentifier> getVersioned() {
+        if (null == this.versioned) {
+            this.versioned = VersionedSchemaIdentifier.tryParse(this.name);
+        }
+        return this.versioned;
+    }
+
+    public Optional<UnversionedSchemaIdentifier> getUnversioned() {
+        if (null == this.unversioned) {
+            this.unversioned = UnversionedSchemaIdentifier.tryParse(this.name);
+        }
+        return this.unversioned;
+    }
+
+    /**
+     * The OData type of the schema, e.g. #Resource.v1_0_0.Resource
+     */
+    public String getODataType() {
+        if (null == this.odataType) {
+            Optional<VersionedSchemaIdentifier> versioned = this.getVersioned();
+            if (versioned.isPresent()) {
+                this.odataType = "#" + versioned.get().getModule() + "." + versioned.get().getVersion() + "."
+                        + versioned.get().getModel();
+            } else {
+                UnversionedSchemaIdentifier unversioned = this.getUnversioned()
+                        .orElseThrow(() -> new IdentifierParseError(this.name + " is not an unversioned identifier"));
+                this.odataType = "#" + unversioned.getModule() + "." + unversioned.getModel();
+            }
+        }
+        return this.odataType;
+    }
+
+    // The Rust type of the model generated for this schema, or null if it has none.
+    public RustType getRustType() {
+        if (null == this.rustType) {
+            this.rustType = Optional.ofNullable(this.resolver.apply(this.name));
+        }
+        return this.rustType.orElse(null);
+    }
+}
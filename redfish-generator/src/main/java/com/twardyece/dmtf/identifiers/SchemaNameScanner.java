@@ -0,0 +1,113 @@
+package com.twardyece.dmtf.identifiers;
+
+/**
+ * Hand-written equivalents of the schema identifier regular expressions. A failed scan returns null without allocating,
+ * since most schema names are tried against patterns they don't match.
+ *
+ * The module group of both expressions is [a-zA-z0-9]*, and since A-z spans the punctuation between the two alphabets,
+ * a module may also contain underscores, brackets, carets and backticks. The scanners keep that behaviour.
+ */
+class SchemaNameScanner {
+    private SchemaNameScanner() {}
+
+    /**
+     * Scan for ([a-zA-z0-9]*)_(v[0-9]+_[0-9]+_[0-9]+)_([a-zA-Z0-9]+), with the semantics of Matcher.find().
+     *
+     * @return the start of the module, the end of the module, the end of the version and the end of the model, or null
+     */
+    static int[] scanVersioned(String name) {
+        int start = 0;
+        while (start < name.length()) {
+            if (!isModuleCharacter(name.charAt(start))) {
+                ++start;
+                continue;
+            }
+
+            // The whole match lies in one run of module characters. Since the module is greedy, try the longest first.
+            int runEnd = endOfModuleRun(name, start);
+            for (int moduleEnd = runEnd - 1; moduleEnd >= start; --moduleEnd) {
+                int versionEnd = scanVersion(name, moduleEnd);
+                if (-1 != versionEnd) {
+                    int modelEnd = endOfAlphanumericRun(name, versionEnd + 1);
+                    if (modelEnd > versionEnd + 1) {
+                        return new int[] { start, moduleEnd, versionEnd, modelEnd };
+                    }
+                }
+            }
+            start = runEnd;
+        }
+
+        return null;
+    }
+
+    /**
+     * Scan for ([a-zA-z0-9]*)_([a-zA-Z0-9]+), with the semantics of Matcher.find().
+     *
+     * @return the start of the module, the end of the module and the end of the model, or null
+     */
+    static int[] scanUnversioned(String name) {
+        int start = 0;
+        while (start < name.length()) {
+            if (!isModuleCharacter(name.charAt(start))) {
+                ++start;
+                continue;
+            }
+
+            int runEnd = endOfModuleRun(name, start);
+            for (int moduleEnd = runEnd - 1; moduleEnd >= start; --moduleEnd) {
+                if ('_' == name.charAt(moduleEnd)) {
+                    int modelEnd = endOfAlphanumericRun(name, moduleEnd + 1);
+                    if (modelEnd > moduleEnd + 1) {
+                        return new int[] { start, moduleEnd, modelEnd };
+                    }
+                }
+            }
+            start = runEnd;
+        }
+
+        return null;
+    }
+
+    // Match _v[0-9]+_[0-9]+_[0-9]+_ at the index, returning the index of the final underscore, or -1.
+    private static int scanVersion(String name, int index) {
+        if (index + 1 >= name.length() || '_' != name.charAt(index) || 'v' != name.charAt(index + 1)) {
+            return -1;
+        }
+
+        int position = index + 2;
+        for (int i = 0; i < 3; ++i) {
+            int digitsEnd = position;
+            while (digitsEnd < name.length() && isDigit(name.charAt(digitsEnd))) {
+                ++digitsEnd;
+            }
+            if (digitsEnd == position || digitsEnd >= name.length() || '_' != name.charAt(digitsEnd)) {
+                return -1;
+            }
+            position = digitsEnd + 1;
+        }
+
+        return position - 1;
+    }
+
+    private static int endOfModuleRun(String name, int index) {
+        while (index < name.length() && isModuleCharacter(name.charAt(index))) {
+            ++index;
+        }
+        return index;
+    }
+
+    private static int endOfAlphanumericRun(String name, int index) {
+        while (index < name.length() && isAlphanumeric(name.charAt(index))) {
+            ++index;
+        }
+        return index;
+    }
+
+    private static boolean isModuleCharacter(char c) { return (c >= 'A' && c <= 'z') || isDigit(c); }
+
+    private static boolean isAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c);
+    }
+
+    private static boolean isDigit(char c) { return c >= '0' && c <= '9'; }
+}
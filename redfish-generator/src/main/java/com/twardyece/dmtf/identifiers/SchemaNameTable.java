@@ -0,0 +1,31 @@
+package com.twardyece.dmtf.identifiers;
+
+import com.twardyece.dmtf.RustType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The SchemaName of each schema, built once per run and shared by everything that needs to know about schema names,
+ * so that no name is parsed more than once. Entries are created on first lookup, from any thread.
+ */
+public class SchemaNameTable {
+    private final Map<String, SchemaName> names = new ConcurrentHashMap<>();
+    private final Function<String, RustType> resolver;
+
+    // The resolver maps a schema name to the Rust type of its model.
+    public SchemaNameTable(Function<String, RustType> resolver) {
+        this.resolver = resolver;
+    }
+
+    public SchemaName get(String name) {
+        SchemaName schemaName = this.names.get(name);
+        if (null == schemaName) {
+            schemaName = this.names.computeIfAbsent(name, (key) -> new SchemaName(key, this.resolver));
+        }
+        return schemaName;
+    }
+
+    public int size() { return this.names.size(); }
+}
@@ -2,24 +2,33 @@ package com.twardyece.dmtf.identifiers;
 
 import com.twardyece.dmtf.text.PascalCaseName;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
 
 public class UnversionedSchemaIdentifier {
-    private PascalCaseName module;
-    private PascalCaseName model;
-
-    // This regular expression identifies models in the OpenAPI document which are not tagged with a version.
-    private static Pattern pattern = Pattern.compile("(?<module>[a-zA-z0-9]*)_(?<model>[a-zA-Z0-9]+)");
+    private final PascalCaseName module;
+    private final PascalCaseName model;
 
+    // Identifies models in the OpenAPI document which are not tagged with a version. The scanner matches the regular
+    // expression (?<module>[a-zA-z0-9]*)_(?<model>[a-zA-Z0-9]+)
     public UnversionedSchemaIdentifier(String name) {
-        Matcher matcher = pattern.matcher(name);
-        if (!matcher.find()) {
+        this(name, SchemaNameScanner.scanUnversioned(name));
+    }
+
+    private UnversionedSchemaIdentifier(String name, int[] match) {
+        if (null == match) {
             throw new IdentifierParseError(name + " is not an unversioned identifier");
         }
 
-        this.module = new PascalCaseName(matcher.group("module"));
-        this.model = new PascalCaseName(matcher.group("model"));
+        this.module = new PascalCaseName(name.substring(match[0], match[1]));
+        this.model = new PascalCaseName(name.substring(match[1] + 1, match[2]));
+    }
+
+    /**
+     * Parse the name, or return an empty result if it is not an unversioned identifier.
+     */
+    public static Optional<UnversionedSchemaIdentifier> tryParse(String name) {
+        int[] match = SchemaNameScanner.scanUnversioned(name);
+        return null == match ? Optional.empty() : Optional.of(new UnversionedSchemaIdentifier(name, match));
     }
 
     public PascalCaseName getModule() { return this.module; }
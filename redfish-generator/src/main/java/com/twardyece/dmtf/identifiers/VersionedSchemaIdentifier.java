@@ -3,26 +3,35 @@ package com.twardyece.dmtf.identifiers;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
 
 public class VersionedSchemaIdentifier {
-    PascalCaseName module;
-    SnakeCaseName version;
-    PascalCaseName model;
-
-    // This regular expression identifies schemas in the OpenAPI document which are tagged with a version.
-    private static Pattern pattern = Pattern.compile("(?<module>[a-zA-z0-9]*)_(?<version>v[0-9]+_[0-9]+_[0-9]+)_(?<model>[a-zA-Z0-9]+)");
+    private final PascalCaseName module;
+    private final SnakeCaseName version;
+    private final PascalCaseName model;
 
+    // Identifies schemas in the OpenAPI document which are tagged with a version. The scanner matches the regular
+    // expression (?<module>[a-zA-z0-9]*)_(?<version>v[0-9]+_[0-9]+_[0-9]+)_(?<model>[a-zA-Z0-9]+)
     public VersionedSchemaIdentifier(String name) {
-        Matcher matcher = pattern.matcher(name);
-        if (!matcher.find()) {
+        this(name, SchemaNameScanner.scanVersioned(name));
+    }
+
+    private VersionedSchemaIdentifier(String name, int[] match) {
+        if (null == match) {
             throw new IdentifierParseError(name + " is not a versioned schema");
         }
 
-        this.module = new PascalCaseName(matcher.group("module"));
-        this.version = new SnakeCaseName(matcher.group("version"));
-        this.model = new PascalCaseName(matcher.group("model"));
+        this.module = new PascalCaseName(name.substring(match[0], match[1]));
+        this.version = new SnakeCaseName(name.substring(match[1] + 1, match[2]));
+        this.model = new PascalCaseName(name.substring(match[2] + 1, match[3]));
+    }
+
+    /**
+     * Parse the name, or return an empty result if it is not a versioned schema.
+     */
+    public static Optional<VersionedSchemaIdentifier> tryParse(String name) {
+        int[] match = SchemaNameScanner.scanVersioned(name);
+        return null == match ? Optional.empty() : Optional.of(new VersionedSchemaIdentifier(name, match));
     }
 
     public PascalCaseName getModule() { return this.module; }
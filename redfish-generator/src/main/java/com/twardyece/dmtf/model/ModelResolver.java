@@ -1,6 +1,9 @@
 package com.twardyece.dmtf.model;
 
 import com.twardyece.dmtf.RustType;
+import com.twardyece.dmtf.events.ResolveModelEvent;
+import com.twardyece.dmtf.identifiers.SchemaName;
+import com.twardyece.dmtf.identifiers.SchemaNameTable;
 import com.twardyece.dmtf.model.mapper.IModelFileMapper;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
@@ -9,6 +12,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -19,6 +24,15 @@ public class ModelResolver {
     public static final Map<String, RustType> RUST_TYPE_MAP;
     private static final Pattern schemaPath = Pattern.compile("#/components/schemas/");
 
+    // Schema names are resolved many times over by the context factories, so the result of the mapper chain is
+    // remembered for each name. Names that no mapper recognizes are remembered as empty.
+    private final Map<String, Optional<RustType>> resolved = new ConcurrentHashMap<>();
+    private final Map<RustType, RustType> arrays = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    // The mappers read names through this table, so each name is parsed once for the mappers and everything else.
+    private final SchemaNameTable schemaNames = new SchemaNameTable(this::resolvePath);
+
     static {
         RUST_TYPE_MAP = new HashMap<>();
         RUST_TYPE_MAP.put("integer", new RustType(new SnakeCaseName("i64")));
@@ -44,8 +58,29 @@ public class ModelResolver {
     }
 
     public RustType resolvePath(String name) {
+        ResolveModelEvent event = new ResolveModelEvent();
+        event.begin();
+        Optional<RustType> cached = this.resolved.get(name);
+        if (null != cached) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+            cached = this.resolved.computeIfAbsent(name, (key) -> Optional.ofNullable(this.matchPath(key)));
+        }
+        RustType result = cached.orElse(null);
+        if (event.shouldCommit()) {
+            event.operation = "resolvePath";
+            event.name = name;
+            event.rustType = Objects.toString(result, null);
+            event.commit();
+        }
+        return result;
+    }
+
+    private RustType matchPath(String name) {
+        SchemaName schemaName = this.schemaNames.get(name);
         for (IModelFileMapper mapper : this.mappers) {
-            IModelFileMapper.ModelMatchResult module = mapper.matches(name);
+            IModelFileMapper.ModelMatchResult module = mapper.matches(schemaName);
             if (null != module) {
                 return new RustType(module.path, module.model);
             }
@@ -54,14 +89,39 @@ public class ModelResolver {
         return null;
     }
 
+    public IModelFileMapper[] getMappers() { return this.mappers; }
+
+    public SchemaNameTable getSchemaNames() { return this.schemaNames; }
+
+    public long getHits() { return this.hits.sum(); }
+
+    public long getMisses() { return this.misses.sum(); }
+
     // Resolve an OpenAPI path, such as '#/components/schemas/RedfishError' to a RustType.
     public RustType resolveSchema(Schema schema) {
+        ResolveModelEvent event = new ResolveModelEvent();
+        event.begin();
+        RustType result = this.matchSchema(schema);
+        if (event.shouldCommit()) {
+            event.operation = "resolveSchema";
+            event.name = null != schema.get$ref() ? schema.get$ref() : schema.getType();
+            event.rustType = Objects.toString(result, null);
+            event.commit();
+        }
+        return result;
+    }
+
+    private RustType matchSchema(Schema schema) {
         String type = schema.getType();
         if (null == type) {
             return this.resolvePath(this.getSchemaIdentifier(schema));
         } else if ("array".equals(schema.getType())) {
             // It's an array type
-            return new RustType(null, VEC_NAME, this.resolveSchema(schema.getItems()));
+            RustType items = this.resolveSchema(schema.getItems());
+            if (null == items) {
+                return new RustType(null, VEC_NAME, null);
+            }
+            return this.arrays.computeIfAbsent(items, (inner) -> new RustType(null, VEC_NAME, inner));
         } else {
             if (!RUST_TYPE_MAP.containsKey(type)) {
                 LOGGER.warn("No mapping for type " + type);
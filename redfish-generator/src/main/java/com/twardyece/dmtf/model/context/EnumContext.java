@@ -46,7 +46,7 @@ public class EnumContext {
             RustType rustType;
 
             public Type(RustType rustType) { this.rustType = rustType; }
-            public String type() { return this.rustType.toString(); }
+            public String type() { return this.rustType.toImportedString(); }
         }
     }
 }
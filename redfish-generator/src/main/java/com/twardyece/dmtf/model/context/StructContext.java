@@ -33,7 +33,7 @@ public class StructContext {
         public String name() { return this.propertyName.toString(); }
         public String type() {
             if (null == this.typeOverride) {
-                return this.rustType.toString();
+                return this.rustType.toImportedString();
             } else {
                 return this.typeOverride;
             }
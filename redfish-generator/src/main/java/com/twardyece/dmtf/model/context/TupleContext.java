@@ -16,5 +16,5 @@ public class TupleContext {
         return types;
     }
 
-    public String type() { return this.rustType.toString(); }
+    public String type() { return this.rustType.toImportedString(); }
 }
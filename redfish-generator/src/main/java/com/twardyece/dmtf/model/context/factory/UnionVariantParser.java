@@ -2,6 +2,8 @@ package com.twardyece.dmtf.model.context.factory;
 
 import com.twardyece.dmtf.RustIdentifier;
 import com.twardyece.dmtf.api.name.NameMapper;
+import com.twardyece.dmtf.identifiers.IdentifierParseError;
+import com.twardyece.dmtf.identifiers.SchemaNameTable;
 import com.twardyece.dmtf.identifiers.VersionedSchemaIdentifier;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
@@ -11,13 +13,18 @@ import java.util.regex.Pattern;
 public class UnionVariantParser {
     private static final NameMapper mapper = new NameMapper(Pattern.compile("odata-v4_(?<model>[a-zA-Z0-9]*)"), "model");
 
-    public UnionVariantParser() {}
+    private final SchemaNameTable schemaNames;
+
+    public UnionVariantParser(SchemaNameTable schemaNames) {
+        this.schemaNames = schemaNames;
+    }
 
     public RustIdentifier getVariantName(String identifier) {
         SnakeCaseName identifierName = mapper.matchComponent(identifier);
         RustIdentifier value;
         if (null == identifierName) {
-            VersionedSchemaIdentifier versioned = new VersionedSchemaIdentifier(identifier);
+            VersionedSchemaIdentifier versioned = this.schemaNames.get(identifier).getVersioned()
+                    .orElseThrow(() -> new IdentifierParseError(identifier + " is not a versioned schema"));
             value = new RustIdentifier(versioned.getVersion());
         } else {
             value = new RustIdentifier(new PascalCaseName(identifierName));
@@ -2,13 +2,14 @@ package com.twardyece.dmtf.model.mapper;
 
 import com.twardyece.dmtf.CratePath;
 import com.twardyece.dmtf.RustConfig;
+import com.twardyece.dmtf.identifiers.SchemaName;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
 import java.util.List;
 
 public interface IModelFileMapper {
-    ModelMatchResult matches(String name);
+    ModelMatchResult matches(SchemaName name);
 
     class ModelMatchResult {
         public ModelMatchResult(List<SnakeCaseName> path, PascalCaseName model) {
@@ -1,5 +1,6 @@
 package com.twardyece.dmtf.model.mapper;
 
+import com.twardyece.dmtf.identifiers.SchemaName;
 import com.twardyece.dmtf.text.CaseConversion;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
@@ -18,8 +19,8 @@ public class SimpleModelMapper implements IModelFileMapper {
     }
 
     @Override
-    public ModelMatchResult matches(String name) {
-        Matcher matcher = this.pattern.matcher(name);
+    public ModelMatchResult matches(SchemaName name) {
+        Matcher matcher = this.pattern.matcher(name.getName());
         if (!matcher.find()) {
             return null;
         }
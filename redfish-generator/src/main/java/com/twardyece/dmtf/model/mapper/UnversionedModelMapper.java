@@ -1,7 +1,6 @@
 package com.twardyece.dmtf.model.mapper;
 
-import com.twardyece.dmtf.identifiers.IdentifierParseError;
-import com.twardyece.dmtf.identifiers.UnversionedSchemaIdentifier;
+import com.twardyece.dmtf.identifiers.SchemaName;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
 import java.util.ArrayList;
@@ -11,15 +10,14 @@ public class UnversionedModelMapper implements IModelFileMapper {
     public UnversionedModelMapper() {}
 
     @Override
-    public ModelMatchResult matches(String name) {
-        try {
-            UnversionedSchemaIdentifier identifier = new UnversionedSchemaIdentifier(name);
-            List<SnakeCaseName> module = new ArrayList<>();
-            module.add(new SnakeCaseName(identifier.getModule()));
+    public ModelMatchResult matches(SchemaName name) {
+        return name.getUnversioned()
+                .map((identifier) -> {
+                    List<SnakeCaseName> module = new ArrayList<>();
+                    module.add(new SnakeCaseName(identifier.getModule()));
 
-            return new ModelMatchResult(module, identifier.getModel());
-        } catch (IdentifierParseError e) {
-            return null;
-        }
+                    return new ModelMatchResult(module, identifier.getModel());
+                })
+                .orElse(null);
     }
 }
@@ -1,7 +1,6 @@
 package com.twardyece.dmtf.model.mapper;
 
-import com.twardyece.dmtf.identifiers.IdentifierParseError;
-import com.twardyece.dmtf.identifiers.VersionedSchemaIdentifier;
+import com.twardyece.dmtf.identifiers.SchemaName;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
 import java.util.ArrayList;
@@ -11,16 +10,15 @@ public class VersionedModelMapper implements IModelFileMapper {
     public VersionedModelMapper() {}
 
     @Override
-    public ModelMatchResult matches(String name) {
-        try {
-            VersionedSchemaIdentifier identifier = new VersionedSchemaIdentifier(name);
-            List<SnakeCaseName> module = new ArrayList<>();
-            module.add(new SnakeCaseName(identifier.getModule()));
-            module.add(identifier.getVersion());
+    public ModelMatchResult matches(SchemaName name) {
+        return name.getVersioned()
+                .map((identifier) -> {
+                    List<SnakeCaseName> module = new ArrayList<>();
+                    module.add(new SnakeCaseName(identifier.getModule()));
+                    module.add(identifier.getVersion());
 
-            return new ModelMatchResult(module, identifier.getModel());
-        } catch (IdentifierParseError e) {
-            return null;
-        }
+                    return new ModelMatchResult(module, identifier.getModel());
+                })
+                .orElse(null);
     }
 }
@@ -0,0 +1,116 @@
+package com.twardyece.dmtf.openapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.twardyece.dmtf.FileInputs;
+import com.twardyece.dmtf.GenerationManifest;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.OpenAPIDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persists flattened OpenAPI documents between runs. A snapshot is keyed by a digest of every file in the API
+ * directory, of the parser configuration and of the generator itself, so any change to the inputs, or to the code that
+ * parses and flattens them, selects a new snapshot. Snapshots are stored
+ * as gzipped JSON, and are read back through the same deserializer the parser uses, so the loaded document is built
+ * from the same model classes as a freshly parsed one.
+ */
+public class DocumentCache {
+    private static final String SUFFIX = ".snapshot";
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentCache.class);
+
+    private final Path cacheDirectory;
+
+    public DocumentCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public String computeKey(Path apiDirectory, Map<String, String> configuration) throws IOException {
+        MessageDigest digest = FileInputs.newDigest();
+        update(digest, "generator:" + GenerationManifest.hashGenerator());
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(apiDirectory)) {
+            files = stream.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        for (Path file : files) {
+            update(digest, apiDirectory.relativize(file).toString());
+            FileInputs.update(digest, Files.readAllBytes(file));
+        }
+
+        for (Map.Entry<String, String> entry : new TreeMap<>(configuration).entrySet()) {
+            update(digest, entry.getKey());
+            update(digest, entry.getValue());
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public Optional<OpenAPI> load(String key) {
+        Path snapshot = getSnapshotPath(key);
+        if (!Files.isRegularFile(snapshot)) {
+            return Optional.empty();
+        }
+
+        try (InputStream input = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            JsonNode tree = Json.mapper().readTree(input);
+            ParseOptions options = new ParseOptions();
+            options.setResolve(false);
+            SwaggerParseResult result = new OpenAPIDeserializer().deserialize(tree, snapshot.toString(), options);
+            if (null == result.getOpenAPI()) {
+                LOGGER.warn("Discarding unreadable document snapshot " + snapshot);
+                return Optional.empty();
+            }
+
+            LOGGER.info("Loaded document snapshot " + snapshot);
+            return Optional.of(result.getOpenAPI());
+        } catch (IOException e) {
+            LOGGER.warn("Couldn't read document snapshot " + snapshot + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void store(String key, OpenAPI document) {
+        Path snapshot = getSnapshotPath(key);
+        try {
+            Files.createDirectories(this.cacheDirectory);
+            Path temporary = Files.createTempFile(this.cacheDirectory, key, ".tmp");
+            try (OutputStream output = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                Json.mapper().writeValue(output, document);
+            }
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            removeStaleSnapshots(snapshot);
+        } catch (IOException e) {
+            LOGGER.warn("Couldn't write document snapshot " + snapshot + ": " + e.getMessage());
+        }
+    }
+
+    private void removeStaleSnapshots(Path current) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.cacheDirectory, "*" + SUFFIX)) {
+            for (Path snapshot : stream) {
+                if (!snapshot.equals(current)) {
+                    Files.deleteIfExists(snapshot);
+                }
+            }
+        }
+    }
+
+    private Path getSnapshotPath(String key) { return this.cacheDirectory.resolve(key + SUFFIX); }
+
+    private static void update(MessageDigest digest, String value) {
+        FileInputs.update(digest, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -22,12 +22,9 @@
 
 package com.twardyece.dmtf.openapi;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
-import com.fasterxml.jackson.databind.MapperFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.twardyece.dmtf.Metrics;
+import com.twardyece.dmtf.TaskRunner;
 import io.swagger.parser.OpenAPIParser;
-import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
@@ -40,9 +37,12 @@ import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 import io.swagger.v3.parser.core.models.ParseOptions;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -50,23 +50,24 @@ public class DocumentParser {
     String path;
     OpenAPI openAPI;
     private Set<String> uniqueNames = new HashSet<>();
+    // The suffix of the name last returned by uniqueName for each name.
+    private Map<String, Integer> uniqueNameCounts = new HashMap<>();
     public boolean resolveInlineEnums = false;
     private Map<String, Schema> addedModels = new HashMap<>();
     final Logger LOGGER = LoggerFactory.getLogger(DocumentParser.class);
     private Map<String, String> inlineSchemaNameDefaults = new HashMap<>();
-    private Map<String, String> generatedSignature = new HashMap<>();
+    // generated schemas, bucketed by structural fingerprint. Only candidates that share a fingerprint need to be
+    // compared in full.
+    private Map<Long, List<GeneratedSchema>> generatedSignature = new HashMap<>();
     private Map<String, String> inlineSchemaNameMapping = new HashMap<>();
     private Set<String> inlineSchemaNameMappingValues = new HashSet<>();
     public boolean skipSchemaReuse = false; // skip reusing inline schema if set to true
-    // structure mapper sorts properties alphabetically on write to ensure models are
-    // serialized consistently for lookup of existing models
-    private static ObjectMapper structureMapper;
-
-    static {
-        structureMapper = Json.mapper().copy();
-        structureMapper.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
-        structureMapper.writer(new DefaultPrettyPrinter());
-    }
+    public boolean scanUniqueNames = false; // probe every candidate for a unique name, rather than resuming the search
+    private ModelDecisions modelDecisions = new ModelDecisions();
+    private TaskRunner taskRunner = new TaskRunner(1);
+    private DocumentCache documentCache = null;
+    private ExternalRefLoader externalRefLoader = new ExternalRefLoader(new TaskRunner(1), null);
+    private Metrics metrics = new Metrics();
 
     public DocumentParser(String path) {
         this.inlineSchemaNameDefaults.put("arrayItemSuffix", "_inner");
@@ -79,23 +80,82 @@ public class DocumentParser {
         this.inlineSchemaNameMappingValues.add(name);
     }
 
+    public void setDocumentCache(DocumentCache documentCache) {
+        this.documentCache = documentCache;
+    }
+
+    public void setExternalRefLoader(ExternalRefLoader externalRefLoader) {
+        this.externalRefLoader = externalRefLoader;
+    }
+
+    public void setTaskRunner(TaskRunner taskRunner) {
+        this.taskRunner = taskRunner;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+        this.externalRefLoader.setMetrics(metrics);
+    }
+
     public OpenAPI parse() {
-        ParseOptions parseOptions = new ParseOptions();
-        parseOptions.setResolve(true);
-        SwaggerParseResult result = new OpenAPIParser().readLocation(this.path, null, parseOptions);
+        String cacheKey = null;
+        if (null != documentCache) {
+            try {
+                cacheKey = documentCache.computeKey(Path.of(this.path).toAbsolutePath().getParent(),
+                        getConfiguration());
+                Optional<OpenAPI> cached = documentCache.load(cacheKey);
+                if (cached.isPresent()) {
+                    metrics.increment("documentSnapshotsLoaded");
+                    this.openAPI = cached.get();
+                    return openAPI;
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Not caching document: " + e.getMessage());
+            }
+        }
+
+        SwaggerParseResult result = externalRefLoader.readLocation(this.path);
         this.openAPI = result.getOpenAPI();
         if (null == openAPI) {
             throw new RuntimeException("Couldn't parse " + this.path);
         }
 
         inlineSchemaNameMappingValues.addAll(inlineSchemaNameMapping.values());
-        flattenPaths();
-        flattenComponents();
+        try (Metrics.Timer timer = metrics.start("flattenPaths")) {
+            flattenPaths();
+        }
+        try (Metrics.Timer timer = metrics.start("flattenComponents")) {
+            flattenComponents();
+        }
+
+        if (null != cacheKey) {
+            documentCache.store(cacheKey, openAPI);
+        }
         return openAPI;
     }
 
     /**
-     * Flatten inline models in components
+     * Every setting that affects the flattened document, used to key cached snapshots of it.
+     */
+    private Map<String, String> getConfiguration() {
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put("resolveInlineEnums", Boolean.toString(resolveInlineEnums));
+        configuration.put("skipSchemaReuse", Boolean.toString(skipSchemaReuse));
+        configuration.put("scanUniqueNames", Boolean.toString(scanUniqueNames));
+        for (Map.Entry<String, String> entry : inlineSchemaNameDefaults.entrySet()) {
+            configuration.put("default:" + entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, String> entry : inlineSchemaNameMapping.entrySet()) {
+            configuration.put("mapping:" + entry.getKey(), entry.getValue());
+        }
+        return configuration;
+    }
+
+    /**
+     * Flatten inline models in components. Finding which schemas have inline models changes nothing, so that's done
+     * for every schema in parallel first. Most have none. The rest are then flattened one at a time, in order, since
+     * the name given to each new schema, and whether an earlier one is reused for it, depends on those made before it.
+     * With assertions enabled, the schemas found to have none are flattened as well, to check that nothing changes.
      */
     private void flattenComponents() {
         Map<String, Schema> models = openAPI.getComponents().getSchemas();
@@ -104,20 +164,42 @@ public class DocumentParser {
         }
 
         List<String> modelNames = new ArrayList<String>(models.keySet());
-        for (String modelName : modelNames) {
-            Schema model = models.get(modelName);
-            if (ModelUtils.isComposedSchema(model)) {
-                ComposedSchema m = (ComposedSchema) model;
-                // inline child schemas
-                flattenComposedChildren(modelName + "_allOf", m.getAllOf());
-                flattenComposedChildren(modelName + "_anyOf", m.getAnyOf());
-                flattenComposedChildren(modelName + "_oneOf", m.getOneOf());
-            } else if (model instanceof Schema) {
-                gatherInlineModels(model, modelName);
+        List<Boolean> hasInlineModels = taskRunner.map(modelNames,
+                (modelName) -> flattenComponent(modelName, models.get(modelName), new Flattening(false)));
+        for (int i = 0; i < modelNames.size(); ++i) {
+            String modelName = modelNames.get(i);
+            if (!hasInlineModels.get(i)) {
+                assert !flattenComponent(modelName, models.get(modelName), new Flattening(true))
+                        : "Inline models were not found in " + modelName;
+                continue;
             }
+
+            metrics.increment("componentsFlattened");
+            flattenComponent(modelName, models.get(modelName), new Flattening(true));
         }
     }
 
+    /**
+     * Flatten inline models in a component
+     *
+     * @param modelName  name of the component
+     * @param model      the component schema
+     * @param flattening whether to apply the changes, or only find whether there are any
+     * @return whether the component has inline models, or problems to log
+     */
+    private boolean flattenComponent(String modelName, Schema model, Flattening flattening) {
+        if (ModelUtils.isComposedSchema(model)) {
+            ComposedSchema m = (ComposedSchema) model;
+            // inline child schemas
+            flattenComposedChildren(modelName + "_allOf", m.getAllOf(), flattening);
+            flattenComposedChildren(modelName + "_anyOf", m.getAnyOf(), flattening);
+            flattenComposedChildren(modelName + "_oneOf", m.getOneOf(), flattening);
+        } else if (model instanceof Schema) {
+            gatherInlineModels(model, modelName, flattening);
+        }
+        return flattening.found;
+    }
+
     private void flattenPaths() {
         Paths paths = openAPI.getPaths();
         if (paths == null) {
@@ -195,10 +277,11 @@ public class DocumentParser {
      * breed:
      * type: string
      *
-     * @param key      a unique name ofr the composed schema.
-     * @param children the list of nested schemas within a composed schema (allOf, anyOf, oneOf).
+     * @param key        a unique name ofr the composed schema.
+     * @param children   the list of nested schemas within a composed schema (allOf, anyOf, oneOf).
+     * @param flattening whether to apply the changes, or only find whether there are any
      */
-    private void flattenComposedChildren(String key, List<Schema> children) {
+    private void flattenComposedChildren(String key, List<Schema> children, Flattening flattening) {
         if (children == null || children.isEmpty()) {
             return;
         }
@@ -209,6 +292,9 @@ public class DocumentParser {
                     (component.get$ref() == null) &&
                     ((component.getProperties() != null && !component.getProperties().isEmpty()) ||
                             (component.getEnum() != null && !component.getEnum().isEmpty()))) {
+                if (!flattening.handle()) {
+                    return;
+                }
                 // If a `title` attribute is defined in the inline schema, codegen uses it to name the
                 // inline schema. Otherwise, we'll use the default naming such as InlineObject1, etc.
                 // We know that this is not the best way to name the model.
@@ -519,9 +605,18 @@ public class DocumentParser {
      * @param name name to be processed to make sure it's sanitized
      */
     private String sanitizeName(final String name) {
-        return name
-                .replaceAll("^[0-9]", "_$0") // e.g. 12object => _12object
-                .replaceAll("[^A-Za-z0-9]", "_"); // e.g. io.schema.User name => io_schema_User_name
+        StringBuilder sanitized = new StringBuilder(name.length() + 1);
+        if (!name.isEmpty() && isAsciiDigit(name.charAt(0))) {
+            sanitized.append('_'); // e.g. 12object => _12object
+        }
+        // e.g. io.schema.User name => io_schema_User_name. A character outside the BMP is replaced by one underscore.
+        name.codePoints().forEach((c) -> sanitized.append(isAsciiDigit(c) || (c >= 'A' && c <= 'Z')
+                || (c >= 'a' && c <= 'z') ? (char) c : '_'));
+        return sanitized.toString();
+    }
+
+    private static boolean isAsciiDigit(int c) {
+        return c >= '0' && c <= '9';
     }
 
     /**
@@ -532,16 +627,31 @@ public class DocumentParser {
     private String uniqueName(final String name) {
         if (openAPI.getComponents().getSchemas() == null) { // no schema has been created
             return name;
+        } else if (scanUniqueNames) {
+            return scanForUniqueName(name);
         }
 
+        // Names are taken but never released, so every candidate before the one last returned for this name is still
+        // taken. The search resumes from there, rather than from the name itself.
+        int count = uniqueNameCounts.getOrDefault(name, 0);
+        String uniqueName = 0 == count ? name : name + "_" + count;
+        while (openAPI.getComponents().getSchemas().containsKey(uniqueName) || uniqueNames.contains(uniqueName)) {
+            uniqueName = name + "_" + ++count;
+        }
+        uniqueNameCounts.put(name, count);
+        assert uniqueName.equals(scanForUniqueName(name)) : "The search for a unique " + name + " resumed too late";
+        return uniqueName;
+    }
+
+    // The search uniqueName stands in for, which probes every candidate from the name itself. UniqueNameCheck compares
+    // the two over a whole document.
+    private String scanForUniqueName(final String name) {
         String uniqueName = name;
         int count = 0;
-        while (true) {
-            if (!openAPI.getComponents().getSchemas().containsKey(uniqueName) && !uniqueNames.contains(uniqueName)) {
-                return uniqueName;
-            }
+        while (openAPI.getComponents().getSchemas().containsKey(uniqueName) || uniqueNames.contains(uniqueName)) {
             uniqueName = name + "_" + ++count;
         }
+        return uniqueName;
     }
 
     /**
@@ -550,77 +660,25 @@ public class DocumentParser {
      * <p>
      * Return true if a model should be generated e.g. object with properties,
      * enum, oneOf, allOf, anyOf, etc.
+     * <p>
+     * Decisions for schemas that aren't composed are remembered by schema identity. Those depend only on the schema's
+     * own fields, which flattening doesn't change, so they hold for the rest of the parse.
      *
      * @param schema target schema
      */
     private boolean isModelNeeded(Schema schema) {
-        return isModelNeeded(schema, new HashSet<>());
+        return modelDecisions.isModelNeeded(schema);
     }
 
     /**
-     * Return false if model can be represented by primitives e.g. string, object
-     * without properties, array or map of other model (model contanier), etc.
-     * <p>
-     * Return true if a model should be generated e.g. object with properties,
-     * enum, oneOf, allOf, anyOf, etc.
+     * Recursively gather inline models that need to be generated and
+     * replace inline schemas with $ref to schema to-be-generated.
      *
-     * @param schema         target schema
-     * @param visitedSchemas Visited schemas
+     * @param schema      target schema
+     * @param modelPrefix model name (usually the prefix of the inline model name)
      */
-    private boolean isModelNeeded(Schema schema, Set<Schema> visitedSchemas) {
-        if (visitedSchemas.contains(schema)) { // circular reference
-            return true;
-        } else {
-            visitedSchemas.add(schema);
-        }
-
-        if (resolveInlineEnums && schema.getEnum() != null && schema.getEnum().size() > 0) {
-            return true;
-        }
-        if (schema.getType() == null || "object".equals(schema.getType())) {
-            // object or undeclared type with properties
-            if (schema.getProperties() != null && schema.getProperties().size() > 0) {
-                return true;
-            }
-        }
-        if (schema instanceof ComposedSchema) {
-            // allOf, anyOf, oneOf
-            ComposedSchema m = (ComposedSchema) schema;
-
-            boolean isSingleAllOf = m.getAllOf() != null && m.getAllOf().size() == 1;
-            boolean isReadOnly = m.getReadOnly() != null && m.getReadOnly();
-            boolean isNullable = m.getNullable() != null && m.getNullable();
-
-            if (isSingleAllOf && (isReadOnly || isNullable)) {
-                // Check if this composed schema only contains an allOf and a readOnly or nullable.
-                ComposedSchema c = new ComposedSchema();
-                c.setAllOf(m.getAllOf());
-                c.setReadOnly(m.getReadOnly());
-                c.setNullable(m.getNullable());
-                if (m.equals(c)) {
-                    return isModelNeeded(m.getAllOf().get(0), visitedSchemas);
-                }
-            }
-
-            if (m.getAllOf() != null && !m.getAllOf().isEmpty()) {
-                // check to ensure at least of the allOf item is model
-                for (Schema inner : m.getAllOf()) {
-                    if (isModelNeeded(ModelUtils.getReferencedSchema(openAPI, inner), visitedSchemas)) {
-                        return true;
-                    }
-                }
-                // allOf items are all non-model (e.g. type: string) only
-                return false;
-            }
-            if (m.getAnyOf() != null && !m.getAnyOf().isEmpty()) {
-                return true;
-            }
-            if (m.getOneOf() != null && !m.getOneOf().isEmpty()) {
-                return true;
-            }
-        }
-
-        return false;
+    private void gatherInlineModels(Schema schema, String modelPrefix) {
+        gatherInlineModels(schema, modelPrefix, new Flattening(true));
     }
 
     /**
@@ -629,14 +687,18 @@ public class DocumentParser {
      *
      * @param schema      target schema
      * @param modelPrefix model name (usually the prefix of the inline model name)
+     * @param flattening  whether to apply the changes, or only find whether there are any
      */
-    private void gatherInlineModels(Schema schema, String modelPrefix) {
+    private void gatherInlineModels(Schema schema, String modelPrefix, Flattening flattening) {
+        if (flattening.isDone()) {
+            return;
+        }
         if (schema.get$ref() != null) {
             // if ref already, no inline schemas should be present but check for
             // any to catch OpenAPI violations
-            if (isModelNeeded(schema) || "object".equals(schema.getType()) ||
+            if ((flattening.isModelNeeded(schema) || "object".equals(schema.getType()) ||
                     schema.getProperties() != null || schema.getAdditionalProperties() != null ||
-                    schema instanceof ComposedSchema) {
+                    schema instanceof ComposedSchema) && flattening.handle()) {
                 LOGGER.error("Illegal schema found with $ref combined with other properties," +
                         " no properties should be defined alongside a $ref:\n " + schema.toString());
             }
@@ -651,17 +713,20 @@ public class DocumentParser {
             if (props != null) {
                 for (String propName : props.keySet()) {
                     Schema prop = props.get(propName);
-                    String schemaName = resolveModelName(prop.getTitle(), modelPrefix + "_" + propName);
+                    String schemaName = flattening.resolveModelName(prop.getTitle(), modelPrefix + "_" + propName);
                     // Recurse to create $refs for inner models
-                    gatherInlineModels(prop, schemaName);
-                    if (isModelNeeded(prop)) {
-                        // If this schema should be split into its own model, do so
-                        Schema refSchema = this.makeSchemaInComponents(schemaName, prop);
-                        props.put(propName, refSchema);
+                    gatherInlineModels(prop, schemaName, flattening);
+                    if (flattening.isModelNeeded(prop)) {
+                        if (flattening.handle()) {
+                            // If this schema should be split into its own model, do so
+                            Schema refSchema = this.makeSchemaInComponents(schemaName, prop);
+                            props.put(propName, refSchema);
+                        }
                     } else if (prop instanceof ComposedSchema) {
                         ComposedSchema m = (ComposedSchema) prop;
                         if (m.getAllOf() != null && m.getAllOf().size() == 1 &&
-                                !(m.getAllOf().get(0).getType() == null || "object".equals(m.getAllOf().get(0).getType()))) {
+                                !(m.getAllOf().get(0).getType() == null || "object".equals(m.getAllOf().get(0).getType()))
+                                && flattening.handle()) {
                             // allOf with only 1 type (non-model)
                             LOGGER.info("allOf schema used by the property `{}` replaced by its only item (a type)", propName);
                             props.put(propName, m.getAllOf().get(0));
@@ -673,10 +738,10 @@ public class DocumentParser {
             if (schema.getAdditionalProperties() != null) {
                 if (schema.getAdditionalProperties() instanceof Schema) {
                     Schema inner = (Schema) schema.getAdditionalProperties();
-                    String schemaName = resolveModelName(schema.getTitle(), modelPrefix + this.inlineSchemaNameDefaults.get("mapItemSuffix"));
+                    String schemaName = flattening.resolveModelName(schema.getTitle(), modelPrefix + this.inlineSchemaNameDefaults.get("mapItemSuffix"));
                     // Recurse to create $refs for inner models
-                    gatherInlineModels(inner, schemaName);
-                    if (isModelNeeded(inner)) {
+                    gatherInlineModels(inner, schemaName, flattening);
+                    if (flattening.isModelNeeded(inner) && flattening.handle()) {
                         // If this schema should be split into its own model, do so
                         Schema refSchema = this.makeSchemaInComponents(schemaName, inner);
                         schema.setAdditionalProperties(refSchema);
@@ -685,14 +750,18 @@ public class DocumentParser {
             }
         } else if (schema.getProperties() != null) {
             // If non-object type is specified but also properties
-            LOGGER.error("Illegal schema found with non-object type combined with properties," +
-                    " no properties should be defined:\n " + schema.toString());
+            if (flattening.handle()) {
+                LOGGER.error("Illegal schema found with non-object type combined with properties," +
+                        " no properties should be defined:\n " + schema.toString());
+            }
             return;
         } else if (schema.getAdditionalProperties() != null) {
             // If non-object type is specified but also additionalProperties
-            LOGGER.error("Illegal schema found with non-object type combined with" +
-                    " additionalProperties, no additionalProperties should be defined:\n " +
-                    schema.toString());
+            if (flattening.handle()) {
+                LOGGER.error("Illegal schema found with non-object type combined with" +
+                        " additionalProperties, no additionalProperties should be defined:\n " +
+                        schema.toString());
+            }
             return;
         }
         // Check array items
@@ -704,16 +773,18 @@ public class DocumentParser {
                 throw new RuntimeException("getTitle for array item is not null");
             }*/
             if (items == null) {
-                LOGGER.error("Illegal schema found with array type but no items," +
-                        " items must be defined for array schemas:\n " + schema.toString());
+                if (flattening.handle()) {
+                    LOGGER.error("Illegal schema found with array type but no items," +
+                            " items must be defined for array schemas:\n " + schema.toString());
+                }
                 return;
             }
-            String schemaName = resolveModelName(items.getTitle(), modelPrefix + this.inlineSchemaNameDefaults.get("arrayItemSuffix"));
+            String schemaName = flattening.resolveModelName(items.getTitle(), modelPrefix + this.inlineSchemaNameDefaults.get("arrayItemSuffix"));
 
             // Recurse to create $refs for inner models
-            gatherInlineModels(items, schemaName);
+            gatherInlineModels(items, schemaName, flattening);
 
-            if (isModelNeeded(items)) {
+            if (flattening.isModelNeeded(items) && flattening.handle()) {
                 // If this schema should be split into its own model, do so
                 Schema refSchema = this.makeSchemaInComponents(schemaName, items);
                 array.setItems(refSchema);
@@ -726,10 +797,10 @@ public class DocumentParser {
                 List<Schema> newAllOf = new ArrayList<Schema>();
                 boolean atLeastOneModel = false;
                 for (Schema inner : m.getAllOf()) {
-                    String schemaName = resolveModelName(inner.getTitle(), modelPrefix + "_allOf");
+                    String schemaName = flattening.resolveModelName(inner.getTitle(), modelPrefix + "_allOf");
                     // Recurse to create $refs for inner models
-                    gatherInlineModels(inner, schemaName);
-                    if (isModelNeeded(inner)) {
+                    gatherInlineModels(inner, schemaName, flattening);
+                    if (flattening.isModelNeeded(inner) && flattening.handle()) {
                         Schema refSchema = this.makeSchemaInComponents(schemaName, inner);
                         newAllOf.add(refSchema); // replace with ref
                         atLeastOneModel = true;
@@ -744,8 +815,10 @@ public class DocumentParser {
                     if (m.getAllOf().size() == 1) {
                         // handle earlier in this function when looping through properties
                     } else if (m.getAllOf().size() > 1) {
-                        LOGGER.warn("allOf schema `{}` containing multiple types (not model) is not supported at the moment.", schema.getName());
-                    } else {
+                        if (flattening.handle()) {
+                            LOGGER.warn("allOf schema `{}` containing multiple types (not model) is not supported at the moment.", schema.getName());
+                        }
+                    } else if (flattening.handle()) {
                         LOGGER.error("allOf schema `{}` contains no items.", schema.getName());
                     }
                 }
@@ -753,41 +826,45 @@ public class DocumentParser {
             if (m.getAnyOf() != null) {
                 List<Schema> newAnyOf = new ArrayList<Schema>();
                 for (Schema inner : m.getAnyOf()) {
-                    String schemaName = resolveModelName(inner.getTitle(), modelPrefix + "_anyOf");
+                    String schemaName = flattening.resolveModelName(inner.getTitle(), modelPrefix + "_anyOf");
                     // Recurse to create $refs for inner models
-                    gatherInlineModels(inner, schemaName);
-                    if (isModelNeeded(inner)) {
+                    gatherInlineModels(inner, schemaName, flattening);
+                    if (flattening.isModelNeeded(inner) && flattening.handle()) {
                         Schema refSchema = this.makeSchemaInComponents(schemaName, inner);
                         newAnyOf.add(refSchema); // replace with ref
                     } else {
                         newAnyOf.add(inner);
                     }
                 }
-                m.setAnyOf(newAnyOf);
+                if (flattening.apply) {
+                    m.setAnyOf(newAnyOf);
+                }
             }
             if (m.getOneOf() != null) {
                 List<Schema> newOneOf = new ArrayList<Schema>();
                 for (Schema inner : m.getOneOf()) {
-                    String schemaName = resolveModelName(inner.getTitle(), modelPrefix + "_oneOf");
+                    String schemaName = flattening.resolveModelName(inner.getTitle(), modelPrefix + "_oneOf");
                     // Recurse to create $refs for inner models
-                    gatherInlineModels(inner, schemaName);
-                    if (isModelNeeded(inner)) {
+                    gatherInlineModels(inner, schemaName, flattening);
+                    if (flattening.isModelNeeded(inner) && flattening.handle()) {
                         Schema refSchema = this.makeSchemaInComponents(schemaName, inner);
                         newOneOf.add(refSchema); // replace with ref
                     } else {
                         newOneOf.add(inner);
                     }
                 }
-                m.setOneOf(newOneOf);
+                if (flattening.apply) {
+                    m.setOneOf(newOneOf);
+                }
             }
         }
         // Check not schema
         if (schema.getNot() != null) {
             Schema not = schema.getNot();
-            String schemaName = resolveModelName(schema.getTitle(), modelPrefix + "_not");
+            String schemaName = flattening.resolveModelName(schema.getTitle(), modelPrefix + "_not");
             // Recurse to create $refs for inner models
-            gatherInlineModels(not, schemaName);
-            if (isModelNeeded(not)) {
+            gatherInlineModels(not, schemaName, flattening);
+            if (flattening.isModelNeeded(not) && flattening.handle()) {
                 Schema refSchema = this.makeSchemaInComponents(schemaName, not);
                 schema.setNot(refSchema);
             }
@@ -824,14 +901,18 @@ public class DocumentParser {
             return null;
         }
 
-        try {
-            String json = structureMapper.writeValueAsString(model);
-            if (generatedSignature.containsKey(json)) {
-                return generatedSignature.get(json);
+        List<GeneratedSchema> candidates = generatedSignature.get(SchemaFingerprint.of(model));
+        if (null == candidates) {
+            return null;
+        }
+
+        for (GeneratedSchema candidate : candidates) {
+            if (SchemaFingerprint.sameStructure(candidate.schema, model)) {
+                metrics.increment("schemaReuseHits");
+                return candidate.name;
             }
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
         }
+        metrics.increment("schemaFingerprintCollisions");
 
         return null;
     }
@@ -856,6 +937,7 @@ public class DocumentParser {
         }
 
         uniqueNames.add(name);
+        metrics.increment("inlineModelsCreated");
 
         return name;
     }
@@ -877,11 +959,164 @@ public class DocumentParser {
     }
 
     private void addGenerated(String name, Schema model) {
-        try {
-            String json = structureMapper.writeValueAsString(model);
-            generatedSignature.put(json, name);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
+        List<GeneratedSchema> bucket = generatedSignature.computeIfAbsent(SchemaFingerprint.of(model),
+                (k) -> new ArrayList<>(1));
+        for (GeneratedSchema existing : bucket) {
+            if (SchemaFingerprint.sameStructure(existing.schema, model)) {
+                existing.name = name;
+                return;
+            }
+        }
+        bucket.add(new GeneratedSchema(name, model));
+    }
+
+    /**
+     * "Model needed" decisions, with the component schemas found through $refs along the way. A composed schema is
+     * decided by its items, which flattening replaces with $refs, so only decisions for other schemas are remembered,
+     * by schema identity. Decisions don't depend on the order in which they're made, so separate instances agree with
+     * one another.
+     */
+    private class ModelDecisions {
+        private final Map<Schema, Boolean> decisions = new IdentityHashMap<>();
+        private final Set<Schema> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Map<String, Schema> referencedSchemas = new HashMap<>();
+
+        boolean isModelNeeded(Schema schema) {
+            Boolean needed = decisions.get(schema);
+            if (null != needed) {
+                return needed;
+            }
+
+            if (!inProgress.add(schema)) { // circular reference
+                return true;
+            }
+            try {
+                needed = decide(schema);
+            } finally {
+                inProgress.remove(schema);
+            }
+
+            if (!(schema instanceof ComposedSchema)) {
+                decisions.put(schema, needed);
+            }
+            return needed;
+        }
+
+        private boolean decide(Schema schema) {
+            if (resolveInlineEnums && schema.getEnum() != null && schema.getEnum().size() > 0) {
+                return true;
+            }
+            if (schema.getType() == null || "object".equals(schema.getType())) {
+                // object or undeclared type with properties
+                if (schema.getProperties() != null && schema.getProperties().size() > 0) {
+                    return true;
+                }
+            }
+            if (schema instanceof ComposedSchema) {
+                // allOf, anyOf, oneOf
+                ComposedSchema m = (ComposedSchema) schema;
+
+                boolean isSingleAllOf = m.getAllOf() != null && m.getAllOf().size() == 1;
+                boolean isReadOnly = m.getReadOnly() != null && m.getReadOnly();
+                boolean isNullable = m.getNullable() != null && m.getNullable();
+
+                if (isSingleAllOf && (isReadOnly || isNullable)) {
+                    // Check if this composed schema only contains an allOf and a readOnly or nullable.
+                    ComposedSchema c = new ComposedSchema();
+                    c.setAllOf(m.getAllOf());
+                    c.setReadOnly(m.getReadOnly());
+                    c.setNullable(m.getNullable());
+                    if (m.equals(c)) {
+                        return isModelNeeded(m.getAllOf().get(0));
+                    }
+                }
+
+                if (m.getAllOf() != null && !m.getAllOf().isEmpty()) {
+                    // check to ensure at least of the allOf item is model
+                    for (Schema inner : m.getAllOf()) {
+                        if (isModelNeeded(getReferencedSchema(inner))) {
+                            return true;
+                        }
+                    }
+                    // allOf items are all non-model (e.g. type: string) only
+                    return false;
+                }
+                if (m.getAnyOf() != null && !m.getAnyOf().isEmpty()) {
+                    return true;
+                }
+                if (m.getOneOf() != null && !m.getOneOf().isEmpty()) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * The component schema that the schema refers to, or the schema itself if it isn't a reference to one. Found
+         * references are remembered, so each $ref is only decoded once. Component schemas are never replaced, so these
+         * hold for the rest of the parse.
+         */
+        private Schema getReferencedSchema(Schema schema) {
+            String ref = schema.get$ref();
+            if (StringUtils.isEmpty(ref)) {
+                return schema;
+            }
+
+            Schema referenced = referencedSchemas.get(ref);
+            if (null == referenced) {
+                referenced = ModelUtils.getReferencedSchema(openAPI, schema);
+                if (referenced == schema) {
+                    return schema;
+                }
+                referencedSchemas.put(ref, referenced);
+            }
+            return referenced;
+        }
+    }
+
+    /**
+     * How inline models are being flattened. Applied flattening replaces each inline model with a $ref to a component
+     * schema, and logs problems as it finds them. Otherwise nothing is changed, and flattening stops at the first inline
+     * model or problem, which finds whether applying it would do anything. Flattening that isn't applied makes its own
+     * decisions and resolves no names, so it can run concurrently.
+     */
+    private class Flattening {
+        private final boolean apply;
+        private final ModelDecisions decisions;
+        private boolean found = false;
+
+        Flattening(boolean apply) {
+            this.apply = apply;
+            this.decisions = apply ? modelDecisions : new ModelDecisions();
+        }
+
+        // Records an inline model or a problem, and returns whether to handle it.
+        boolean handle() {
+            found = true;
+            return apply;
+        }
+
+        boolean isDone() {
+            return found && !apply;
+        }
+
+        boolean isModelNeeded(Schema schema) {
+            return decisions.isModelNeeded(schema);
+        }
+
+        String resolveModelName(String title, String modelName) {
+            return apply ? DocumentParser.this.resolveModelName(title, modelName) : null;
+        }
+    }
+
+    private static class GeneratedSchema {
+        String name;
+        final Schema schema;
+
+        GeneratedSchema(String name, Schema schema) {
+            this.name = name;
+            this.schema = schema;
         }
     }
 }
@@ -0,0 +1,343 @@
+package com.twardyece.dmtf.openapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.twardyece.dmtf.FileInputs;
+import com.twardyece.dmtf.Metrics;
+import com.twardyece.dmtf.TaskRunner;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.parser.ObjectMapperFactory;
+import io.swagger.v3.parser.OpenAPIResolver;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.ResolverCache;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.DeserializationUtils;
+import io.swagger.v3.parser.util.RemoteUrl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and resolves an OpenAPI document, loading the files it refers to through external $refs up front. swagger-parser
+ * loads each referenced file when it first meets a reference to it, one after another, and parses the file again for
+ * every distinct reference into it. Instead, the files are found by scanning for $ref targets, and each wave of newly
+ * found files is loaded and parsed concurrently. Each file is handed to the resolver already parsed, as JSON text that
+ * reads back into the same tree, so the resolver's repeated parses are cheap.
+ *
+ * The JSON for each file can be cached on disk, keyed by a digest of the file's content. Entries not used by a run are
+ * removed at the end of it. A file is only handed to the resolver under the name it would have used to load it, and
+ * with the content it would have read, so the resolved document is the same either way. Anything not found by the scan
+ * is left to the resolver to load as it always has. If the files can't be handed to the resolver at all, it loads every
+ * one of them itself.
+ */
+public class ExternalRefLoader {
+    // Bump this whenever a change here alters the text stored for the same file.
+    private static final int FORMAT_VERSION = 1;
+    private static final String SUFFIX = ".json.gz";
+    private static final Pattern REFERENCE = Pattern.compile("[\"']?\\$ref[\"']?\\s*:\\s*[\"']?([^\"'#\\s,}]+)");
+    private static final ObjectMapper JSON_MAPPER = ObjectMapperFactory.createJson();
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExternalRefLoader.class);
+    // ResolverCache only exposes a read-only view of its file contents, and has no other way to be handed a file, so
+    // this reaches in for the map itself. That ties this class to the swagger-parser version pinned in pom.xml. The
+    // field is looked up once, when the class loads. If a version doesn't have it, or it can't be reached, this warns
+    // once and every file is left to the resolver.
+    private static final Field EXTERNAL_FILE_CACHE = findExternalFileCache();
+    // swagger-parser won't read a YAML document of more code points than this property allows. It reads the property
+    // once, when DeserializationUtils is initialized.
+    private static final String CODE_POINT_LIMIT = "maxYamlCodePoints";
+    private static final int DEFAULT_CODE_POINT_LIMIT = 3 * 1024 * 1024;
+
+    private final TaskRunner taskRunner;
+    private final Path cacheDirectory;
+    private final Set<Path> usedEntries = ConcurrentHashMap.newKeySet();
+    private Metrics metrics = new Metrics();
+
+    public ExternalRefLoader(TaskRunner taskRunner, Path cacheDirectory) {
+        this.taskRunner = taskRunner;
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public SwaggerParseResult readLocation(String location) {
+        fitCodePointLimit(location);
+        ParseOptions options = new ParseOptions();
+        options.setResolve(false);
+        SwaggerParseResult result = new StreamingDocumentReader(options).read(location)
+                .orElseGet(() -> new OpenAPIV3Parser().readLocation(location, null, options));
+        if (null == result.getOpenAPI() || null == result.getOpenAPI().getOpenapi()
+                || !result.getOpenAPI().getOpenapi().startsWith("3.0")) {
+            // Other versions are resolved differently, or by another parser extension entirely.
+            options.setResolve(true);
+            return new OpenAPIParser().readLocation(location, null, options);
+        }
+
+        // This is how OpenAPIV3Parser resolves a document, given these options.
+        options.setResolve(true);
+        OpenAPIResolver resolver = new OpenAPIResolver(result.getOpenAPI(), new ArrayList<>(), location, null, options);
+        Map<String, String> externalFiles = getExternalFileCache(resolver.getCache());
+        if (null == externalFiles) {
+            resolver.resolve(result);
+            return result;
+        }
+
+        try (Metrics.Timer timer = this.metrics.start("loadExternalRefs")) {
+            this.load(location, options, externalFiles);
+        }
+        Map<String, String> handedFiles = new HashMap<>(externalFiles);
+        resolver.resolve(result);
+        // A resolver that read a file it was handed would have put its own copy in the cache.
+        assert handedFiles.entrySet().stream().allMatch((entry) -> entry.getValue() == externalFiles.get(entry.getKey()))
+                : "The resolver didn't use the files it was handed";
+        return result;
+    }
+
+    // The document is read as a stream where possible, without any limit on its size, but otherwise swagger-parser reads
+    // it whole. Unless the limit has been set, it's raised to fit the document before swagger-parser is first used. A
+    // file holds no more code points than bytes.
+    private static void fitCodePointLimit(String location) {
+        long size;
+        try {
+            size = isUrl(location) ? 0 : Files.size(Path.of(location));
+        } catch (IOException | InvalidPathException e) {
+            return;
+        }
+
+        if (size > DEFAULT_CODE_POINT_LIMIT && null == System.getProperty(CODE_POINT_LIMIT)) {
+            System.setProperty(CODE_POINT_LIMIT, Long.toString(Math.min(size, Integer.MAX_VALUE)));
+        }
+        int limit = DeserializationUtils.getOptions().getMaxYamlCodePoints();
+        if (size > limit) {
+            LOGGER.warn(location + " may be longer than swagger-parser's limit of " + limit + " code points. Set -D"
+                    + CODE_POINT_LIMIT + " if it can't be read.");
+        }
+    }
+
+    // The resolver's cache of external file contents, by the name it loads them under, or null if it can't be reached.
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> getExternalFileCache(ResolverCache cache) {
+        if (null == EXTERNAL_FILE_CACHE) {
+            return null;
+        }
+
+        try {
+            return (Map<String, String>) EXTERNAL_FILE_CACHE.get(cache);
+        } catch (IllegalAccessException | RuntimeException e) {
+            LOGGER.warn("Leaving external references to the resolver, because its file cache can't be read: "
+                    + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Field findExternalFileCache() {
+        try {
+            Field field = ResolverCache.class.getDeclaredField("externalFileCache");
+            if (!Map.class.isAssignableFrom(field.getType())) {
+                throw new NoSuchFieldException("externalFileCache is a " + field.getType().getName());
+            }
+            field.setAccessible(true);
+            return field;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.warn("Leaving external references to the resolver, because this version of swagger-parser doesn't "
+                    + "support handing it files: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void load(String location, ParseOptions options, Map<String, String> externalFiles) {
+        Source root = isUrl(location) ? new Source(location, null, location)
+                : new Source(location, Path.of(location).toAbsolutePath().normalize(), null);
+        String rootContents;
+        try {
+            rootContents = root.read();
+        } catch (Exception e) {
+            LOGGER.warn("Not loading external references of " + location + ": " + e.getMessage());
+            return;
+        }
+
+        Set<String> seen = new HashSet<>();
+        List<Source> wave = this.findReferences(root, root, rootContents, seen);
+        while (!wave.isEmpty()) {
+            List<Loaded> loaded = this.taskRunner.map(wave, (source) -> this.load(source, options));
+            wave = new ArrayList<>();
+            for (Loaded file : loaded) {
+                if (null == file) {
+                    continue;
+                }
+
+                externalFiles.put(file.source.key, file.contents);
+                this.metrics.increment("externalFilesLoaded");
+                wave.addAll(this.findReferences(root, file.source, file.references, seen));
+            }
+        }
+
+        if (null != this.cacheDirectory) {
+            this.removeUnusedEntries();
+        }
+    }
+
+    // Reads the file and produces the text to hand to the resolver, or null to leave the file to the resolver.
+    private Loaded load(Source source, ParseOptions options) {
+        String contents;
+        try {
+            contents = source.read();
+        } catch (Exception e) {
+            LOGGER.debug("Leaving " + source.key + " to the resolver: " + e.getMessage());
+            return null;
+        }
+
+        if (DeserializationUtils.isJson(contents)) {
+            return new Loaded(source, contents, contents);
+        }
+
+        Path entry = null;
+        if (null != this.cacheDirectory) {
+            entry = this.getEntryPath(contents, options);
+            this.usedEntries.add(entry);
+            Optional<String> cached = this.readEntry(entry);
+            if (cached.isPresent()) {
+                this.metrics.increment("externalFileCacheHits");
+                return new Loaded(source, cached.get(), contents);
+            }
+            this.metrics.increment("externalFileCacheMisses");
+        }
+
+        String json;
+        try {
+            JsonNode tree = DeserializationUtils.deserializeIntoTree(contents, source.key, options,
+                    new SwaggerParseResult());
+            json = JSON_MAPPER.writeValueAsString(tree);
+            if (!JSON_MAPPER.readTree(json).equals(tree)) {
+                // Some value doesn't survive the trip through JSON, so the resolver has to parse the YAML itself.
+                return new Loaded(source, contents, contents);
+            }
+        } catch (Exception e) {
+            // The resolver will report this when it parses the file.
+            return new Loaded(source, contents, contents);
+        }
+
+        if (null != entry) {
+            this.writeEntry(entry, json);
+        }
+        return new Loaded(source, json, contents);
+    }
+
+    // The files referenced from the given text that haven't been seen yet, under the names the resolver would use.
+    private List<Source> findReferences(Source root, Source referrer, String text, Set<String> seen) {
+        List<Source> sources = new ArrayList<>();
+        Matcher matcher = REFERENCE.matcher(text);
+        while (matcher.find()) {
+            String reference = matcher.group(1);
+            if (seen.contains(reference)) {
+                continue;
+            }
+
+            Source source = resolve(root, referrer, reference);
+            if (null != source) {
+                seen.add(reference);
+                sources.add(source);
+            }
+        }
+        return sources;
+    }
+
+    private static Source resolve(Source root, Source referrer, String reference) {
+        if (isUrl(reference)) {
+            return new Source(reference, null, reference);
+        } else if (null != root.url) {
+            return null;
+        }
+
+        // The resolver reads a relative reference from the directory of the root document, wherever it appears. Only
+        // take it if that's also the file it refers to from the referring file.
+        try {
+            Path file = root.file.getParent().resolve(reference).normalize();
+            if (null == referrer.file || !file.equals(referrer.file.getParent().resolve(reference).normalize())
+                    || !Files.isRegularFile(file)) {
+                return null;
+            }
+            return new Source(reference, file, null);
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private static boolean isUrl(String location) {
+        return location.startsWith("http:") || location.startsWith("https:");
+    }
+
+    private Path getEntryPath(String contents, ParseOptions options) {
+        String key = FileInputs.hash(("format:" + FORMAT_VERSION + ":legacy:" + options.isLegacyYamlDeserialization()
+                + ":" + contents).getBytes(StandardCharsets.UTF_8));
+        return this.cacheDirectory.resolve(key + SUFFIX);
+    }
+
+    private Optional<String> readEntry(Path entry) {
+        if (!Files.isRegularFile(entry)) {
+            return Optional.empty();
+        }
+
+        try (InputStream input = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            return Optional.of(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOGGER.warn("Couldn't read cached file " + entry + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeEntry(Path entry, String json) {
+        try {
+            Files.createDirectories(this.cacheDirectory);
+            Path temporary = Files.createTempFile(this.cacheDirectory, entry.getFileName().toString(), ".tmp");
+            try (OutputStream output = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.write(json.getBytes(StandardCharsets.UTF_8));
+            }
+            Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Couldn't write cached file " + entry + ": " + e.getMessage());
+        }
+    }
+
+    private void removeUnusedEntries() {
+        if (!Files.isDirectory(this.cacheDirectory)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.cacheDirectory, "*" + SUFFIX)) {
+            for (Path entry : stream) {
+                if (!this.usedEntries.contains(entry)) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Couldn't remove unused cached files: " + e.getMessage());
+        }
+    }
+
+    // A referenced file, under the name the resolver looks it up by, and where to read it from.
+    private record Source(String key, Path file, String url) {
+        // Read as the resolver would have read it.
+        String read() throws Exception {
+            if (null != this.file) {
+                return Files.readString(this.file, StandardCharsets.UTF_8);
+            }
+            return RemoteUrl.urlToString(this.url, new ArrayList<>());
+        }
+    }
+
+    // The text to hand to the resolver for a file, and the text to scan for further references.
+    private record Loaded(Source source, String contents, String references) {}
+}
@@ -0,0 +1,277 @@
+package com.twardyece.dmtf.openapi;
+
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Schema;
+
+import io.swagger.v3.oas.models.ExternalDocumentation;
+import io.swagger.v3.oas.models.media.XML;
+
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Computes a 64-bit structural hash of a schema tree. The hash only covers fields that Json.mapper() serializes for a
+ * schema, so two schemas with identical serialized structure always produce the same fingerprint. The converse does
+ * not hold: equal fingerprints must still be confirmed with {@link #sameStructure(Schema, Schema)}.
+ */
+public class SchemaFingerprint {
+    private static final long SEED = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    private static final long NULL = 0x9e3779b97f4a7c15L;
+
+    private SchemaFingerprint() {}
+
+    public static long of(Schema schema) {
+        if (null == schema) {
+            return NULL;
+        }
+
+        // A reference serializes as the $ref alone, so nothing else set on it may contribute to the hash.
+        if (null != schema.get$ref()) {
+            return mix(SEED, schema.get$ref());
+        }
+
+        long hash = SEED;
+        hash = mix(hash, schema.getType());
+        hash = mix(hash, schema.getFormat());
+        hash = mix(hash, schema.getTitle());
+        hash = mix(hash, schema.getDescription());
+        hash = mix(hash, schema.getPattern());
+        hash = mix(hash, schema.getNullable());
+        hash = mix(hash, schema.getReadOnly());
+        hash = mix(hash, schema.getWriteOnly());
+        hash = mix(hash, schema.getDeprecated());
+        hash = mix(hash, schema.getUniqueItems());
+        hash = mix(hash, schema.getMinLength());
+        hash = mix(hash, schema.getMaxLength());
+        hash = mix(hash, schema.getMinItems());
+        hash = mix(hash, schema.getMaxItems());
+        hash = mix(hash, schema.getMinProperties());
+        hash = mix(hash, schema.getMaxProperties());
+        hash = mix(hash, emptyToNull(schema.getRequired()));
+
+        // Enum values may be of any type, and values of different Java types can serialize identically. Only the
+        // number of values is safe to hash.
+        List<?> values = schema.getEnum();
+        hash = combine(hash, null == values ? NULL : values.size());
+
+        hash = combine(hash, ofProperties(schema.getProperties()));
+        hash = combine(hash, of(schema.getItems()));
+        hash = combine(hash, of(schema.getNot()));
+        hash = combine(hash, ofList(schema.getAllOf()));
+        hash = combine(hash, ofList(schema.getAnyOf()));
+        hash = combine(hash, ofList(schema.getOneOf()));
+
+        Object additionalProperties = schema.getAdditionalProperties();
+        if (additionalProperties instanceof Schema) {
+            hash = combine(hash, of((Schema) additionalProperties));
+        } else {
+            hash = mix(hash, additionalProperties);
+        }
+
+        Discriminator discriminator = schema.getDiscriminator();
+        hash = mix(hash, null == discriminator ? null : discriminator.getPropertyName());
+
+        // Extension values are arbitrary objects, but the set of keys is cheap to hash and usually distinguishing.
+        Map<String, Object> extensions = schema.getExtensions();
+        if (null == extensions || extensions.isEmpty()) {
+            hash = combine(hash, NULL);
+        } else {
+            long keys = 0;
+            for (String key : extensions.keySet()) {
+                keys += mix(SEED, key);
+            }
+            hash = combine(hash, keys);
+        }
+
+        return hash;
+    }
+
+    /**
+     * Compares two schema trees field by field, over exactly the fields Json.mapper() serializes. Two schemas are the
+     * same structure when they would serialize to the same JSON: the Java classes of the schemas don't matter, maps
+     * compare in iteration order, and integral numbers compare by value.
+     */
+    public static boolean sameStructure(Schema a, Schema b) {
+        if (a == b) {
+            return true;
+        } else if (null == a || null == b) {
+            return false;
+        }
+
+        // A reference serializes as the $ref alone.
+        if (null != a.get$ref() || null != b.get$ref()) {
+            return Objects.equals(a.get$ref(), b.get$ref());
+        }
+
+        return Objects.equals(a.getType(), b.getType())
+                && Objects.equals(a.getFormat(), b.getFormat())
+                && Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getPattern(), b.getPattern())
+                && Objects.equals(a.getNullable(), b.getNullable())
+                && Objects.equals(a.getReadOnly(), b.getReadOnly())
+                && Objects.equals(a.getWriteOnly(), b.getWriteOnly())
+                && Objects.equals(a.getDeprecated(), b.getDeprecated())
+                && Objects.equals(a.getUniqueItems(), b.getUniqueItems())
+                && Objects.equals(a.getMinLength(), b.getMinLength())
+                && Objects.equals(a.getMaxLength(), b.getMaxLength())
+                && Objects.equals(a.getMinItems(), b.getMinItems())
+                && Objects.equals(a.getMaxItems(), b.getMaxItems())
+                && Objects.equals(a.getMinProperties(), b.getMinProperties())
+                && Objects.equals(a.getMaxProperties(), b.getMaxProperties())
+                && Objects.equals(a.getMinimum(), b.getMinimum())
+                && Objects.equals(a.getMaximum(), b.getMaximum())
+                && Objects.equals(a.getExclusiveMinimum(), b.getExclusiveMinimum())
+                && Objects.equals(a.getExclusiveMaximum(), b.getExclusiveMaximum())
+                && Objects.equals(a.getMultipleOf(), b.getMultipleOf())
+                && sameValue(emptyToNull(a.getRequired()), emptyToNull(b.getRequired()))
+                && sameValue(a.getEnum(), b.getEnum())
+                && sameValue(a.getDefault(), b.getDefault())
+                && sameExample(a, b)
+                && sameValue(a.getProperties(), b.getProperties())
+                && sameStructure(a.getItems(), b.getItems())
+                && sameStructure(a.getNot(), b.getNot())
+                && sameValue(a.getAllOf(), b.getAllOf())
+                && sameValue(a.getAnyOf(), b.getAnyOf())
+                && sameValue(a.getOneOf(), b.getOneOf())
+                && sameValue(a.getAdditionalProperties(), b.getAdditionalProperties())
+                && sameDiscriminator(a.getDiscriminator(), b.getDiscriminator())
+                && sameXml(a.getXml(), b.getXml())
+                && sameExternalDocs(a.getExternalDocs(), b.getExternalDocs())
+                && sameValue(emptyToNull(a.getExtensions()), emptyToNull(b.getExtensions()));
+    }
+
+    // An example that was explicitly set to null is still written out.
+    private static boolean sameExample(Schema a, Schema b) {
+        if (null == a.getExample() && null == b.getExample()) {
+            return a.getExampleSetFlag() == b.getExampleSetFlag();
+        }
+        return sameValue(a.getExample(), b.getExample());
+    }
+
+    private static boolean sameDiscriminator(Discriminator a, Discriminator b) {
+        if (null == a || null == b) {
+            return a == b;
+        }
+        return Objects.equals(a.getPropertyName(), b.getPropertyName())
+                && sameValue(a.getMapping(), b.getMapping())
+                && sameValue(emptyToNull(a.getExtensions()), emptyToNull(b.getExtensions()));
+    }
+
+    private static boolean sameXml(XML a, XML b) {
+        if (null == a || null == b) {
+            return a == b;
+        }
+        return Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getNamespace(), b.getNamespace())
+                && Objects.equals(a.getPrefix(), b.getPrefix())
+                && Objects.equals(a.getAttribute(), b.getAttribute())
+                && Objects.equals(a.getWrapped(), b.getWrapped())
+                && sameValue(emptyToNull(a.getExtensions()), emptyToNull(b.getExtensions()));
+    }
+
+    private static boolean sameExternalDocs(ExternalDocumentation a, ExternalDocumentation b) {
+        if (null == a || null == b) {
+            return a == b;
+        }
+        return Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getUrl(), b.getUrl())
+                && sameValue(emptyToNull(a.getExtensions()), emptyToNull(b.getExtensions()));
+    }
+
+    private static boolean sameValue(Object a, Object b) {
+        if (a == b) {
+            return true;
+        } else if (null == a || null == b) {
+            return false;
+        } else if (a instanceof Schema && b instanceof Schema) {
+            return sameStructure((Schema) a, (Schema) b);
+        } else if (a instanceof Map && b instanceof Map) {
+            Map<?, ?> left = (Map<?, ?>) a;
+            Map<?, ?> right = (Map<?, ?>) b;
+            if (left.size() != right.size()) {
+                return false;
+            }
+            Iterator<? extends Map.Entry<?, ?>> rightEntries = right.entrySet().iterator();
+            for (Map.Entry<?, ?> entry : left.entrySet()) {
+                Map.Entry<?, ?> other = rightEntries.next();
+                if (!Objects.equals(entry.getKey(), other.getKey()) || !sameValue(entry.getValue(), other.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (a instanceof Collection && b instanceof Collection) {
+            Collection<?> left = (Collection<?>) a;
+            Collection<?> right = (Collection<?>) b;
+            if (left.size() != right.size()) {
+                return false;
+            }
+            Iterator<?> rightValues = right.iterator();
+            for (Object value : left) {
+                if (!sameValue(value, rightValues.next())) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (isIntegral(a) && isIntegral(b)) {
+            return toBigInteger(a).equals(toBigInteger(b));
+        }
+        return a.equals(b);
+    }
+
+    private static Object emptyToNull(Collection<?> values) {
+        return null == values || values.isEmpty() ? null : values;
+    }
+
+    private static Object emptyToNull(Map<?, ?> values) {
+        return null == values || values.isEmpty() ? null : values;
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger;
+    }
+
+    private static BigInteger toBigInteger(Object value) {
+        return value instanceof BigInteger ? (BigInteger) value : BigInteger.valueOf(((Number) value).longValue());
+    }
+
+    private static long ofProperties(Map<String, Schema> properties) {
+        if (null == properties) {
+            return NULL;
+        }
+
+        // Entries are combined commutatively, so the result doesn't depend on the iteration order of the map.
+        long hash = properties.size();
+        for (Map.Entry<String, Schema> entry : properties.entrySet()) {
+            hash += combine(mix(SEED, entry.getKey()), of(entry.getValue()));
+        }
+        return hash;
+    }
+
+    private static long ofList(List<Schema> schemas) {
+        if (null == schemas) {
+            return NULL;
+        }
+
+        long hash = SEED;
+        for (Schema schema : schemas) {
+            hash = combine(hash, of(schema));
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, Object value) {
+        return combine(hash, null == value ? NULL : value.hashCode());
+    }
+
+    private static long combine(long hash, long value) {
+        hash = (hash ^ value) * PRIME;
+        return hash ^ (hash >>> 29);
+    }
+}
@@ -0,0 +1,428 @@
+package com.twardyece.dmtf.openapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.*;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.DeserializationUtils;
+import io.swagger.v3.parser.util.OpenAPIDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.constructor.Construct;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Reads an OpenAPI 3.0 document from YAML, producing what OpenAPIV3Parser.readLocation would without resolving it.
+ * swagger-parser loads the whole document into Java objects, writes those out as JSON and reads them back into a tree
+ * before deserializing it, so it holds several copies of the document at once, and it limits the size of the document
+ * it will read. Instead, this reads the document as a stream of YAML events. Each schema in components.schemas and each
+ * path item in paths is deserialized as soon as its tree is read, and the tree is dropped. The rest of the document is
+ * small, and is deserialized as usual.
+ *
+ * Path items are deserialized against the document's components, as they are by swagger-parser, so they're read in a
+ * second pass over the file, once the rest of the document has been deserialized. Anything this doesn't reproduce
+ * exactly (aliases, merge keys, tags, other versions of OpenAPI, and so on) is left to OpenAPIV3Parser.
+ */
+public class StreamingDocumentReader {
+    private static final String EXTENSION_PREFIX = "x-";
+    // Stands in for each schema that has already been deserialized.
+    private static final ObjectNode PLACEHOLDER = JsonNodeFactory.instance.objectNode();
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingDocumentReader.class);
+
+    private final ParseOptions options;
+    private final LoaderOptions loaderOptions = new LoaderOptions();
+    private final Resolver resolver = new DeserializationUtils.CustomResolver();
+    private final ScalarConstructor constructor = new ScalarConstructor(this.loaderOptions);
+    private final int maxDepth = DeserializationUtils.getOptions().getMaxYamlDepth();
+
+    // State of a single read.
+    private OpenAPIDeserializer deserializer;
+    private OpenAPIDeserializer.ParseResult parseResult;
+    private String version;
+    private Map<String, Schema> schemas;
+    private boolean pathsDeferred;
+
+    public StreamingDocumentReader(ParseOptions options) {
+        this.options = options;
+        // The document is never held in memory as a whole, so there's no reason to limit its size.
+        this.loaderOptions.setCodePointLimit(Integer.MAX_VALUE);
+    }
+
+    // The document at the location, or nothing if it has to be read by OpenAPIV3Parser instead.
+    public Optional<SwaggerParseResult> read(String location) {
+        if (this.options.isLegacyYamlDeserialization() || !DeserializationUtils.getOptions().isValidateYamlInput()
+                || !OpenAPIDeserializer.getJsonSchemaParserExtensions().isEmpty()) {
+            return Optional.empty();
+        }
+
+        Path file;
+        try {
+            file = Path.of(location);
+        } catch (InvalidPathException e) {
+            return Optional.empty();
+        }
+        String name = file.getFileName().toString();
+        if (!Files.isRegularFile(file) || !(name.endsWith(".yaml") || name.endsWith(".yml"))) {
+            return Optional.empty();
+        }
+
+        this.deserializer = new OpenAPIDeserializer();
+        this.parseResult = new OpenAPIDeserializer.ParseResult();
+        this.parseResult.setOaiAuthor(this.options.isOaiAuthor());
+        this.parseResult.setInferSchemaType(this.options.isInferSchemaType());
+        this.parseResult.setAllowEmptyStrings(this.options.isAllowEmptyString());
+        this.parseResult.setValidateInternalRefs(this.options.isValidateInternalRefs());
+        this.version = null;
+        this.schemas = null;
+        this.pathsDeferred = false;
+        try {
+            return Optional.of(this.read(file, location));
+        } catch (Unsupported | IOException | YAMLException e) {
+            // swagger-parser's code point limit applies to the document from here on.
+            LOGGER.info("Leaving " + location + " to swagger-parser: " + e.getMessage());
+            return Optional.empty();
+        } finally {
+            this.deserializer = null;
+            this.parseResult = null;
+            this.schemas = null;
+        }
+    }
+
+    private SwaggerParseResult read(Path file, String location) throws IOException {
+        ObjectNode root;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Parser parser = new ParserImpl(new StreamReader(reader), this.loaderOptions);
+            root = this.readRoot(parser);
+            expect(parser, DocumentEndEvent.class);
+            expect(parser, StreamEndEvent.class);
+        }
+
+        SwaggerParseResult result = this.deserializer.deserialize(root, location, this.options,
+                this.options.isOaiAuthor());
+        OpenAPI openAPI = result.getOpenAPI();
+        if (null != this.schemas) {
+            Components components = null != openAPI ? openAPI.getComponents() : null;
+            if (null == components || null == components.getSchemas()) {
+                throw new Unsupported("components.schemas was not deserialized");
+            }
+            // Each placeholder takes the place of a schema, in the same order.
+            components.getSchemas().putAll(this.schemas);
+        }
+
+        if (this.pathsDeferred) {
+            Paths paths = null != openAPI ? openAPI.getPaths() : null;
+            if (null == paths) {
+                throw new Unsupported("paths was not deserialized");
+            }
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                this.readPaths(new ParserImpl(new StreamReader(reader), this.loaderOptions), paths);
+            }
+        }
+
+        Set<String> messages = new LinkedHashSet<>(this.parseResult.getMessages());
+        if (null != result.getMessages()) {
+            messages.addAll(result.getMessages());
+        }
+        result.setMessages(new ArrayList<>(messages));
+        return result;
+    }
+
+    private ObjectNode readRoot(Parser parser) {
+        expect(parser, StreamStartEvent.class);
+        expect(parser, DocumentStartEvent.class);
+        Event start = parser.getEvent();
+        if (!(start instanceof MappingStartEvent)) {
+            throw new Unsupported("the document is not a mapping");
+        }
+        checkCollection((CollectionStartEvent) start);
+
+        ObjectNode root = JsonNodeFactory.instance.objectNode();
+        Set<Object> keys = new HashSet<>();
+        Event event;
+        while (!((event = parser.getEvent()) instanceof MappingEndEvent)) {
+            String key = this.readKey(event, keys);
+            Event value = parser.getEvent();
+            if (this.isStreaming() && value instanceof MappingStartEvent mapping && "components".equals(key)) {
+                root.set(key, this.readComponents(parser, mapping));
+            } else if (this.isStreaming() && value instanceof MappingStartEvent mapping && "paths".equals(key)) {
+                root.set(key, this.skipPaths(parser, mapping));
+            } else {
+                JsonNode node = this.readNode(parser, value, 1);
+                root.set(key, node);
+                if ("openapi".equals(key)) {
+                    this.version = node.isTextual() ? node.textValue() : null;
+                }
+            }
+        }
+        return root;
+    }
+
+    // Other versions are deserialized differently, so nothing is deserialized here until the version is known.
+    private boolean isStreaming() {
+        return null != this.version && this.version.startsWith("3.0");
+    }
+
+    private ObjectNode readComponents(Parser parser, MappingStartEvent start) {
+        checkCollection(start);
+        ObjectNode components = JsonNodeFactory.instance.objectNode();
+        Set<Object> keys = new HashSet<>();
+        Event event;
+        while (!((event = parser.getEvent()) instanceof MappingEndEvent)) {
+            String key = this.readKey(event, keys);
+            Event value = parser.getEvent();
+            if (value instanceof MappingStartEvent mapping && "schemas".equals(key)) {
+                components.set(key, this.readSchemas(parser, mapping));
+            } else {
+                components.set(key, this.readNode(parser, value, 2));
+            }
+        }
+        return components;
+    }
+
+    private ObjectNode readSchemas(Parser parser, MappingStartEvent start) {
+        checkCollection(start);
+        this.schemas = new LinkedHashMap<>();
+        ObjectNode placeholders = JsonNodeFactory.instance.objectNode();
+        Set<Object> keys = new HashSet<>();
+        Event event;
+        while (!((event = parser.getEvent()) instanceof MappingEndEvent)) {
+            String name = this.readKey(event, keys);
+            JsonNode node = this.readNode(parser, parser.getEvent(), 3);
+            ObjectNode wrapper = JsonNodeFactory.instance.objectNode();
+            wrapper.putObject("schemas").set(name, node);
+            Map<String, Schema> deserialized = this.deserializer.getComponents(wrapper, "components", this.parseResult)
+                    .getSchemas();
+            if (null != deserialized && deserialized.containsKey(name)) {
+                this.schemas.put(name, deserialized.get(name));
+                placeholders.set(name, PLACEHOLDER);
+            } else {
+                // Leave it for the document to report.
+                placeholders.set(name, node);
+            }
+        }
+        return placeholders;
+    }
+
+    // Keeps the extensions of the paths object, leaving the path items for the second pass.
+    private ObjectNode skipPaths(Parser parser, MappingStartEvent start) {
+        checkCollection(start);
+        this.pathsDeferred = true;
+        ObjectNode paths = JsonNodeFactory.instance.objectNode();
+        Set<Object> keys = new HashSet<>();
+        Event event;
+        while (!((event = parser.getEvent()) instanceof MappingEndEvent)) {
+            String key = this.readKey(event, keys);
+            Event value = parser.getEvent();
+            if (key.startsWith(EXTENSION_PREFIX)) {
+                paths.set(key, this.readNode(parser, value, 2));
+            } else {
+                skip(parser, value);
+            }
+        }
+        return paths;
+    }
+
+    private void readPaths(Parser parser, Paths paths) {
+        expect(parser, StreamStartEvent.class);
+        expect(parser, DocumentStartEvent.class);
+        expect(parser, MappingStartEvent.class);
+        Set<Object> keys = new HashSet<>();
+        Event event;
+        while (!((event = parser.getEvent()) instanceof MappingEndEvent)) {
+            String key = this.readKey(event, keys);
+            Event value = parser.getEvent();
+            if (!"paths".equals(key)) {
+                skip(parser, value);
+                continue;
+            }
+
+            Set<Object> pathKeys = new HashSet<>();
+            while (!((event = parser.getEvent()) instanceof MappingEndEvent)) {
+                String name = this.readKey(event, pathKeys);
+                value = parser.getEvent();
+                if (name.startsWith(EXTENSION_PREFIX)) {
+                    skip(parser, value);
+                    continue;
+                }
+
+                ObjectNode wrapper = JsonNodeFactory.instance.objectNode();
+                wrapper.set(name, this.readNode(parser, value, 2));
+                PathItem pathItem = this.deserializer.getPaths(wrapper, "paths", this.parseResult).get(name);
+                if (null != pathItem) {
+                    paths.addPathItem(name, pathItem);
+                }
+            }
+            // Nothing after paths is needed.
+            return;
+        }
+    }
+
+    // Builds the tree that swagger-parser would have read back from its JSON for the value starting with this event.
+    private JsonNode readNode(Parser parser, Event event, int depth) {
+        if (event instanceof ScalarEvent scalar) {
+            checkAnchor(scalar);
+            return toJsonNode(this.construct(scalar));
+        } else if (event instanceof MappingStartEvent mapping) {
+            this.checkDepth(depth);
+            checkCollection(mapping);
+            ObjectNode node = JsonNodeFactory.instance.objectNode();
+            Set<Object> keys = new HashSet<>();
+            while (!((event = parser.getEvent()) instanceof MappingEndEvent)) {
+                String key = this.readKey(event, keys);
+                node.set(key, this.readNode(parser, parser.getEvent(), depth + 1));
+            }
+            return node;
+        } else if (event instanceof SequenceStartEvent sequence) {
+            this.checkDepth(depth);
+            checkCollection(sequence);
+            ArrayNode node = JsonNodeFactory.instance.arrayNode();
+            while (!((event = parser.getEvent()) instanceof SequenceEndEvent)) {
+                node.add(this.readNode(parser, event, depth + 1));
+            }
+            return node;
+        } else if (event instanceof AliasEvent) {
+            throw new Unsupported("aliases are not supported");
+        }
+        throw new Unsupported("unexpected " + event);
+    }
+
+    // Map keys are written to JSON as strings, whatever they were constructed as.
+    private String readKey(Event event, Set<Object> keys) {
+        if (!(event instanceof ScalarEvent scalar)) {
+            throw new Unsupported("only scalar keys are supported");
+        }
+        checkAnchor(scalar);
+        if (Tag.MERGE.equals(this.getTag(scalar))) {
+            throw new Unsupported("merge keys are not supported");
+        }
+
+        Object key = this.construct(scalar);
+        if (null == key || !keys.add(key)) {
+            // swagger-parser reports these.
+            throw new Unsupported("null or duplicate key " + scalar.getValue());
+        }
+        return String.valueOf(key);
+    }
+
+    private Object construct(ScalarEvent scalar) {
+        return this.constructor.construct(this.getTag(scalar), scalar.getValue());
+    }
+
+    // The tag the composer would give the scalar.
+    private Tag getTag(ScalarEvent scalar) {
+        String tag = scalar.getTag();
+        if (null == tag || "!".equals(tag)) {
+            return this.resolver.resolve(NodeId.scalar, scalar.getValue(), scalar.getImplicit().canOmitTagInPlainScalar());
+        }
+        return new Tag(tag);
+    }
+
+    private static JsonNode toJsonNode(Object value) {
+        if (null == value) {
+            return NullNode.getInstance();
+        } else if (value instanceof String text) {
+            return TextNode.valueOf(text);
+        } else if (value instanceof Boolean bool) {
+            return BooleanNode.valueOf(bool);
+        } else if (value instanceof Double number && Double.isFinite(number)) {
+            return DoubleNode.valueOf(number);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof BigInteger) {
+            // Integers read back as the smallest of these that holds them.
+            BigInteger number = new BigInteger(value.toString());
+            if (number.bitLength() < Integer.SIZE) {
+                return IntNode.valueOf(number.intValue());
+            } else if (number.bitLength() < Long.SIZE) {
+                return LongNode.valueOf(number.longValue());
+            }
+            return BigIntegerNode.valueOf(number);
+        }
+        throw new Unsupported("unsupported value " + value);
+    }
+
+    private void checkDepth(int depth) {
+        if (depth > this.maxDepth) {
+            throw new Unsupported("the document is nested too deeply");
+        }
+    }
+
+    private static void checkCollection(CollectionStartEvent event) {
+        checkAnchor(event);
+        if (null != event.getTag() && !"!".equals(event.getTag())) {
+            throw new Unsupported("tag " + event.getTag() + " is not supported");
+        }
+    }
+
+    private static void checkAnchor(NodeEvent event) {
+        if (null != event.getAnchor()) {
+            throw new Unsupported("anchors are not supported");
+        }
+    }
+
+    private static void expect(Parser parser, Class<? extends Event> type) {
+        Event event = parser.getEvent();
+        if (!type.isInstance(event)) {
+            throw new Unsupported("expected " + type.getSimpleName() + ", found " + event);
+        }
+    }
+
+    // Skips the value starting with this event.
+    private static void skip(Parser parser, Event event) {
+        int depth = 0;
+        do {
+            if (event instanceof CollectionStartEvent) {
+                ++depth;
+            } else if (event instanceof CollectionEndEvent) {
+                --depth;
+            }
+        } while (0 != depth && null != (event = parser.getEvent()));
+    }
+
+    // Constructs scalars as swagger-parser's constructor does, without keeping track of the nodes it's constructed.
+    private static class ScalarConstructor extends SafeConstructor {
+        ScalarConstructor(LoaderOptions loaderOptions) {
+            super(loaderOptions);
+        }
+
+        Object construct(Tag tag, String value) {
+            Construct construct = this.yamlConstructors.get(tag);
+            if (!(Tag.STR.equals(tag) || Tag.INT.equals(tag) || Tag.FLOAT.equals(tag) || Tag.BOOL.equals(tag)
+                    || Tag.NULL.equals(tag)) || null == construct) {
+                throw new Unsupported("tag " + tag + " is not supported");
+            }
+            return construct.construct(new ScalarNode(tag, value, null, null, DumperOptions.ScalarStyle.PLAIN));
+        }
+    }
+
+    private static class Unsupported extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Unsupported(String message) {
+            super(message);
+        }
+    }
+}
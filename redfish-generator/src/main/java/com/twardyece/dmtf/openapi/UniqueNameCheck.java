@@ -0,0 +1,78 @@
+package com.twardyece.dmtf.openapi;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.twardyece.dmtf.RedfishCodegen;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.apache.commons.cli.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flattens an OpenAPI document twice, once resuming each search for a unique name from the last suffix handed out, and
+ * once probing every candidate from the name itself, and checks that both produce the same document. The first is a
+ * shortcut for the second, so the two must agree on every name.
+ */
+public class UniqueNameCheck {
+    private UniqueNameCheck() {}
+
+    /**
+     * Returns a description of the first difference between the two flattened documents, or null if there is none.
+     */
+    public static String check(String apiDirectory) throws JsonProcessingException {
+        OpenAPI resumed = parse(apiDirectory, false);
+        OpenAPI scanned = parse(apiDirectory, true);
+
+        List<String> resumedNames = new ArrayList<>(resumed.getComponents().getSchemas().keySet());
+        List<String> scannedNames = new ArrayList<>(scanned.getComponents().getSchemas().keySet());
+        for (int i = 0; i < Math.min(resumedNames.size(), scannedNames.size()); ++i) {
+            if (!resumedNames.get(i).equals(scannedNames.get(i))) {
+                return "Component " + i + " is named " + resumedNames.get(i) + ", but should be "
+                        + scannedNames.get(i);
+            }
+        }
+        if (resumedNames.size() != scannedNames.size()) {
+            return "There are " + resumedNames.size() + " components, but should be " + scannedNames.size();
+        }
+
+        // The names agree, so any other difference is in where the $refs to them are.
+        if (!Json.mapper().writeValueAsString(resumed).equals(Json.mapper().writeValueAsString(scanned))) {
+            return "The components are named alike, but the documents differ";
+        }
+        return null;
+    }
+
+    private static OpenAPI parse(String apiDirectory, boolean scanUniqueNames) {
+        DocumentParser parser = RedfishCodegen.makeDocumentParser(apiDirectory);
+        parser.scanUniqueNames = scanUniqueNames;
+        return parser.parse();
+    }
+
+    public static void main(String[] args) {
+        Option apiDirectoryOption = new Option("apiDirectory", true,
+                "Directory containing openapi resource files");
+        apiDirectoryOption.setRequired(true);
+
+        Options options = new Options();
+        options.addOption(apiDirectoryOption);
+
+        CommandLineParser parser = new DefaultParser();
+        HelpFormatter formatter = new HelpFormatter();
+
+        try {
+            CommandLine command = parser.parse(options, args);
+            String difference = check(command.getOptionValue("apiDirectory"));
+            if (null != difference) {
+                System.out.println(difference);
+                System.exit(1);
+            }
+        } catch (ParseException e) {
+            System.out.println(e.getMessage());
+            formatter.printHelp("UniqueNameCheck", options);
+            System.exit(1);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
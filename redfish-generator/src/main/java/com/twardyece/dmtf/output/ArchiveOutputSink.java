@@ -0,0 +1,78 @@
+package com.twardyece.dmtf.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Writes the crate as one archive. Files are emitted from several threads in no particular order, so each is spooled
+ * to its own temporary file as it arrives, and only the names are kept in memory. When closed, the spooled files are
+ * written into the archive sorted by name, each with the same fixed timestamp. The same crate always produces the same
+ * archive.
+ */
+abstract class ArchiveOutputSink implements IOutputSink {
+    private final Path spoolDirectory;
+    private final AtomicLong spooled = new AtomicLong();
+    private final Map<String, Path> entries = new TreeMap<>();
+
+    protected ArchiveOutputSink(Path archiveFile) throws IOException {
+        // Spool next to the archive, so the files are on the same filesystem as the archive they're copied into.
+        Path target = archiveFile.toAbsolutePath();
+        this.spoolDirectory = Files.createTempDirectory(target.getParent(), "." + target.getFileName() + ".");
+    }
+
+    @Override
+    public boolean write(Path file, byte[] content, int length) throws IOException {
+        Path spool = this.spoolDirectory.resolve(Long.toString(this.spooled.incrementAndGet()));
+        try (OutputStream output = Files.newOutputStream(spool)) {
+            output.write(content, 0, length);
+        }
+
+        Path previous;
+        synchronized (this) {
+            previous = this.entries.put(ArchivePaths.entryName(file), spool);
+        }
+        if (null == previous) {
+            return true;
+        }
+
+        boolean changed = -1 != Files.mismatch(previous, spool);
+        Files.delete(previous);
+        return changed;
+    }
+
+    @Override
+    public boolean exists(Path file) { return false; }
+
+    @Override
+    public int removeStaleFiles(Path directory, Set<Path> emitted) { return 0; }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            for (Map.Entry<String, Path> entry : this.entries.entrySet()) {
+                this.writeEntry(entry.getKey(), entry.getValue());
+            }
+            this.entries.clear();
+            this.finish();
+        } finally {
+            try (Stream<Path> files = Files.walk(this.spoolDirectory)) {
+                for (Path spool : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(spool);
+                }
+            }
+        }
+    }
+
+    // Write an entry whose content is the given spooled file.
+    protected abstract void writeEntry(String name, Path content) throws IOException;
+
+    protected abstract void finish() throws IOException;
+}
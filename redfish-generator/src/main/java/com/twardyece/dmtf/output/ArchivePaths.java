@@ -0,0 +1,19 @@
+package com.twardyece.dmtf.output;
+
+import java.nio.file.Path;
+
+class ArchivePaths {
+    private ArchivePaths() {}
+
+    // Archive entry names always use forward slashes, regardless of the host's separator.
+    static String entryName(Path file) {
+        StringBuilder name = new StringBuilder();
+        for (Path component : file.normalize()) {
+            if (!name.isEmpty()) {
+                name.append('/');
+            }
+            name.append(component);
+        }
+        return name.toString();
+    }
+}
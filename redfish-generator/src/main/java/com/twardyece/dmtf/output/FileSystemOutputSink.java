@@ -0,0 +1,101 @@
+package com.twardyece.dmtf.output;
+
+import com.twardyece.dmtf.RustConfig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Writes files into a directory on disk. Files whose contents are unchanged are left untouched, so their modification
+ * times are preserved.
+ */
+public class FileSystemOutputSink implements IOutputSink {
+    private static final String GENERATED_HEADER = "// Generated by redfish-codegen";
+    private final Path root;
+
+    public FileSystemOutputSink(Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public boolean write(Path file, byte[] content, int length) throws IOException {
+        Path target = this.root.resolve(file);
+        if (matches(target, content, length)) {
+            return false;
+        }
+
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+
+        // Write to a sibling file first, so that an interrupted run never leaves a truncated module behind.
+        Path temporary = parent.resolve("." + target.getFileName() + ".tmp");
+        try (OutputStream output = Files.newOutputStream(temporary)) {
+            output.write(content, 0, length);
+        }
+
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean exists(Path file) { return Files.isRegularFile(this.root.resolve(file)); }
+
+    @Override
+    public int removeStaleFiles(Path directory, Set<Path> emitted) throws IOException {
+        Path start = this.root.resolve(directory);
+        if (!Files.isDirectory(start)) {
+            return 0;
+        }
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(start)) {
+            files = stream
+                    .filter((file) -> Files.isRegularFile(file) && file.toString().endsWith(RustConfig.FILE_EXTENSION))
+                    .toList();
+        }
+
+        // Files without the generator's header are never touched.
+        int removed = 0;
+        for (Path file : files) {
+            if (!emitted.contains(this.root.relativize(file).normalize()) && isGenerated(file)) {
+                Files.delete(file);
+                ++removed;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void close() {}
+
+    private static boolean matches(Path file, byte[] content, int length) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != length) {
+            return false;
+        }
+
+        byte[] existing = Files.readAllBytes(file);
+        return Arrays.equals(content, 0, length, existing, 0, existing.length);
+    }
+
+    private static boolean isGenerated(Path file) throws IOException {
+        // The header is plain ASCII, so decoding as Latin-1 can't fail regardless of the rest of the file's encoding.
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+            String firstLine = reader.readLine();
+            return null != firstLine && firstLine.startsWith(GENERATED_HEADER);
+        }
+    }
+}
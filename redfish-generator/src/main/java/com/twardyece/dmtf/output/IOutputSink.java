@@ -0,0 +1,18 @@
+package com.twardyece.dmtf.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+public interface IOutputSink extends Closeable {
+    // Emit a file at the given crate-relative path. Sinks must accept concurrent calls for distinct paths. Returns
+    // false if the sink already held identical content for the path, and the write was skipped.
+    boolean write(Path file, byte[] content, int length) throws IOException;
+
+    // Whether the sink already holds a file at this path from an earlier run.
+    boolean exists(Path file);
+
+    // Remove generated files under the directory that were not emitted by this run, returning the number removed.
+    int removeStaleFiles(Path directory, Set<Path> emitted) throws IOException;
+}
@@ -0,0 +1,41 @@
+package com.twardyece.dmtf.output;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every emitted file in memory. Useful for measuring rendering without any disk I/O.
+ */
+public class MemoryOutputSink implements IOutputSink {
+    private final Map<Path, byte[]> files = new ConcurrentHashMap<>();
+
+    public MemoryOutputSink() {}
+
+    @Override
+    public boolean write(Path file, byte[] content, int length) {
+        byte[] copy = Arrays.copyOf(content, length);
+        byte[] previous = this.files.put(file.normalize(), copy);
+        return null == previous || !Arrays.equals(previous, copy);
+    }
+
+    @Override
+    public boolean exists(Path file) { return this.files.containsKey(file.normalize()); }
+
+    @Override
+    public int removeStaleFiles(Path directory, Set<Path> emitted) {
+        int before = this.files.size();
+        this.files.keySet().removeIf((file) -> file.startsWith(directory) && !emitted.contains(file));
+        return before - this.files.size();
+    }
+
+    public Map<Path, byte[]> getFiles() { return Collections.unmodifiableMap(this.files); }
+
+    public long getTotalBytes() { return this.files.values().stream().mapToLong((content) -> content.length).sum(); }
+
+    @Override
+    public void close() {}
+}
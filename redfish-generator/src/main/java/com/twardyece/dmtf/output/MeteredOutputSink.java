@@ -0,0 +1,45 @@
+package com.twardyece.dmtf.output;
+
+import com.twardyece.dmtf.Metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Counts the files and bytes passing through another sink.
+ */
+public class MeteredOutputSink implements IOutputSink {
+    private final IOutputSink sink;
+    private final Metrics metrics;
+
+    public MeteredOutputSink(IOutputSink sink, Metrics metrics) {
+        this.sink = sink;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean write(Path file, byte[] content, int length) throws IOException {
+        this.metrics.increment("filesRendered");
+        this.metrics.add("bytesRendered", length);
+        boolean written = this.sink.write(file, content, length);
+        if (written) {
+            this.metrics.increment("filesWritten");
+            this.metrics.add("bytesWritten", length);
+        }
+        return written;
+    }
+
+    @Override
+    public boolean exists(Path file) { return this.sink.exists(file); }
+
+    @Override
+    public int removeStaleFiles(Path directory, Set<Path> emitted) throws IOException {
+        int removed = this.sink.removeStaleFiles(directory, emitted);
+        this.metrics.add("filesRemoved", removed);
+        return removed;
+    }
+
+    @Override
+    public void close() throws IOException { this.sink.close(); }
+}
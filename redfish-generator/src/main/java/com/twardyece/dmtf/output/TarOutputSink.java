@@ -0,0 +1,38 @@
+package com.twardyece.dmtf.output;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes the crate into a single tar archive.
+ */
+public class TarOutputSink extends ArchiveOutputSink {
+    private final TarArchiveOutputStream archive;
+
+    public TarOutputSink(Path archiveFile) throws IOException {
+        super(archiveFile);
+        this.archive = new TarArchiveOutputStream(new BufferedOutputStream(Files.newOutputStream(archiveFile)));
+        this.archive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+    }
+
+    @Override
+    protected void writeEntry(String name, Path content) throws IOException {
+        TarArchiveEntry entry = new TarArchiveEntry(name);
+        entry.setModTime(0);
+        entry.setSize(Files.size(content));
+        this.archive.putArchiveEntry(entry);
+        Files.copy(content, this.archive);
+        this.archive.closeArchiveEntry();
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        this.archive.finish();
+        this.archive.close();
+    }
+}
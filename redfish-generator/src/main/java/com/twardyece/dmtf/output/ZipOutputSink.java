@@ -0,0 +1,38 @@
+package com.twardyece.dmtf.output;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the crate into a single zip archive.
+ */
+public class ZipOutputSink extends ArchiveOutputSink {
+    // The earliest time a zip entry can hold. Set as local time, so it doesn't depend on the time zone.
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(1980, 1, 1, 0, 0);
+
+    private final ZipOutputStream archive;
+
+    public ZipOutputSink(Path archiveFile) throws IOException {
+        super(archiveFile);
+        this.archive = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(archiveFile)));
+    }
+
+    @Override
+    protected void writeEntry(String name, Path content) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTimeLocal(TIMESTAMP);
+        this.archive.putNextEntry(entry);
+        Files.copy(content, this.archive);
+        this.archive.closeEntry();
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        this.archive.close();
+    }
+}
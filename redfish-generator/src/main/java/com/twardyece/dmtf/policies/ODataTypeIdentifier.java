@@ -1,19 +1,15 @@
 package com.twardyece.dmtf.policies;
 
-import com.twardyece.dmtf.identifiers.IdentifierParseError;
-import com.twardyece.dmtf.identifiers.UnversionedSchemaIdentifier;
-import com.twardyece.dmtf.identifiers.VersionedSchemaIdentifier;
+import com.twardyece.dmtf.identifiers.SchemaNameTable;
 
 public class ODataTypeIdentifier {
-    public ODataTypeIdentifier() {}
+    private final SchemaNameTable schemaNames;
+
+    public ODataTypeIdentifier(SchemaNameTable schemaNames) {
+        this.schemaNames = schemaNames;
+    }
 
     public String identify(String identifier) {
-        try {
-            VersionedSchemaIdentifier versioned = new VersionedSchemaIdentifier(identifier);
-            return "#" + versioned.getModule() + "." + versioned.getVersion() + "." + versioned.getModel();
-        } catch (IdentifierParseError e) {
-            UnversionedSchemaIdentifier unversioned = new UnversionedSchemaIdentifier(identifier);
-            return "#" + unversioned.getModule() + "." + unversioned.getModel();
-        }
+        return this.schemaNames.get(identifier).getODataType();
     }
 }
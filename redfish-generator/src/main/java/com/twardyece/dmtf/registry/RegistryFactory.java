@@ -3,6 +3,7 @@ package com.twardyece.dmtf.registry;
 import com.twardyece.dmtf.ModuleContext;
 import com.twardyece.dmtf.RustIdentifier;
 import com.twardyece.dmtf.RustType;
+import com.twardyece.dmtf.events.MakeRegistryEvent;
 import com.twardyece.dmtf.model.ModelResolver;
 import com.twardyece.dmtf.text.PascalCaseName;
 import org.json.JSONArray;
@@ -24,6 +25,17 @@ public class RegistryFactory {
     }
 
     public RegistryContext makeRegistry(RustType rustType, Path registryFile) throws IOException {
+        MakeRegistryEvent event = new MakeRegistryEvent();
+        event.begin();
+        RegistryContext context = this.buildRegistry(rustType, registryFile);
+        if (event.shouldCommit()) {
+            event.registry = registryFile.getFileName().toString();
+            event.commit();
+        }
+        return context;
+    }
+
+    private RegistryContext buildRegistry(RustType rustType, Path registryFile) throws IOException {
         JSONObject object = new JSONObject(Files.readString(registryFile));
         JSONObject messages = object.getJSONObject("Messages");
         String idBase = object.getString("Id");
@@ -0,0 +1,566 @@
+package com.twardyece.dmtf.synthetic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.core.util.Yaml;
+import org.apache.commons.cli.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthesizes an OpenAPI document and a set of message registries in the shape of the DMTF Redfish bundle, for
+ * measuring how the generator scales. Scale 1 produces a few dozen schema files, and the schema and path counts grow
+ * linearly with the scale factor. The output is deterministic for a given scale.
+ *
+ * Each synthesized resource has a collection, a member, and a Reset action, and resources are nested three to a
+ * member, so larger scales also produce deeper path trees. Every resource has between one and three versions, which
+ * are joined by an unversioned anyOf schema in the same way as the published bundle.
+ */
+public class SyntheticSpec {
+    public static final int RESOURCES_PER_SCALE = 16;
+    public static final int MESSAGES_PER_REGISTRY = 24;
+
+    private static final String[] PREFIXES = { "Power", "Thermal", "Network", "Storage", "Memory", "Fabric", "Sensor",
+            "Switch", "Drive", "Volume", "Cooling", "Battery", "Firmware", "Certificate", "Telemetry", "Account" };
+    private static final String[] SUFFIXES = { "Unit", "Device", "Controller", "Adapter", "Group", "Zone", "Service",
+            "Domain", "Profile", "Policy", "Endpoint", "Monitor", "Channel", "Module", "Bay", "Slot" };
+    private static final String[] QUALIFIERS = { "Alpha", "Beta", "Gamma", "Delta", "Epsilon", "Zeta", "Eta", "Theta",
+            "Iota", "Kappa", "Lambda", "Sigma", "Tau", "Upsilon", "Omega", "Omicron" };
+    private static final String[] PROPERTIES = { "Capacity", "Location", "Manufacturer", "Model", "SerialNumber",
+            "PartNumber", "AssetTag", "Enabled", "MaxSpeed", "Temperature", "Reading", "Threshold", "Version",
+            "Priority", "Interval", "Weight" };
+    private static final String[] PROPERTY_TYPES = { "string", "integer", "number", "boolean" };
+    private static final String[] ENUM_VALUES = { "Physical", "Virtual", "Logical", "Redundant", "Standby", "Shared",
+            "Dedicated", "External" };
+
+    // Each member hosts this many child collections.
+    private static final int BRANCHING = 3;
+
+    private static final String ODATA = "./odata-v4.yaml#/components/schemas/";
+    private static final String RESOURCE = "./Resource.yaml#/components/schemas/";
+    private static final String MESSAGE = "Message_v1_1_2_Message";
+    private static final String SERVICE_ROOT = "ServiceRoot_v1_0_0_ServiceRoot";
+
+    private final int scale;
+    private final List<String> resources = new ArrayList<>();
+
+    public SyntheticSpec(int scale) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("Scale must be at least 1");
+        }
+
+        int count = scale * RESOURCES_PER_SCALE;
+        if (count > PREFIXES.length * SUFFIXES.length * (QUALIFIERS.length + 1)) {
+            throw new IllegalArgumentException("Scale " + scale + " is too large");
+        }
+
+        this.scale = scale;
+        for (int i = 0; i < count; ++i) {
+            this.resources.add(name(i));
+        }
+    }
+
+    /**
+     * Write the OpenAPI documents to the api/ subdirectory, and the registries to the registry/ subdirectory.
+     */
+    public void write(Path directory) throws IOException {
+        Path apiDirectory = directory.resolve("api");
+        Path registryDirectory = directory.resolve("registry");
+        Files.createDirectories(apiDirectory);
+        Files.createDirectories(registryDirectory);
+
+        writeYaml(apiDirectory.resolve("openapi.yaml"), this.makeOpenApi());
+        writeYaml(apiDirectory.resolve("odata-v4.yaml"), makeODataDocument());
+        writeYaml(apiDirectory.resolve("Resource.yaml"), makeResourceDocument());
+        writeYaml(apiDirectory.resolve("Message.v1_1_2.yaml"), makeMessageDocument());
+        writeYaml(apiDirectory.resolve("ServiceRoot.v1_0_0.yaml"), this.makeServiceRootDocument());
+
+        for (int i = 0; i < this.resources.size(); ++i) {
+            String resource = this.resources.get(i);
+            int versions = versionCount(i);
+            for (int version = 0; version < versions; ++version) {
+                writeYaml(apiDirectory.resolve(resource + "." + versionName(version) + ".yaml"),
+                        this.makeVersionedDocument(i, version));
+            }
+            writeYaml(apiDirectory.resolve(resource + ".yaml"), makeUnionDocument(resource, versions));
+            writeYaml(apiDirectory.resolve(resource + "Collection.yaml"), makeCollectionDocument(resource));
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.writerWithDefaultPrettyPrinter()
+                .writeValue(registryDirectory.resolve("Base.1.0.0.json").toFile(), makeRegistry("Base.1.0.0", 0));
+        for (int i = 1; i < this.scale; ++i) {
+            String id = name(i) + "Event.1.0.0";
+            mapper.writerWithDefaultPrettyPrinter()
+                    .writeValue(registryDirectory.resolve(id + ".json").toFile(), makeRegistry(id, i));
+        }
+    }
+
+    public List<String> getResources() { return this.resources; }
+
+    private static String name(int index) {
+        // Offsetting the suffix by the index varies both words between neighbours, while keeping names unique.
+        int suffix = (index / PREFIXES.length + index) % SUFFIXES.length;
+        String name = PREFIXES[index % PREFIXES.length] + SUFFIXES[suffix];
+        int qualifier = index / (PREFIXES.length * SUFFIXES.length);
+        return 0 == qualifier ? name : QUALIFIERS[qualifier - 1] + name;
+    }
+
+    private static int versionCount(int index) { return 1 + index % 3; }
+
+    private static String versionName(int version) { return "v1_" + version + "_0"; }
+
+    private static String plural(String name) {
+        if (name.endsWith("y")) {
+            return name.substring(0, name.length() - 1) + "ies";
+        }
+        return name + "s";
+    }
+
+    private static int parent(int index) { return index < BRANCHING ? -1 : index / BRANCHING - 1; }
+
+    // Paths
+
+    private Map<String, Object> makeOpenApi() {
+        Map<String, Object> paths = new LinkedHashMap<>();
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("get", operation(null, response("200", "./ServiceRoot.v1_0_0.yaml", SERVICE_ROOT), List.of()));
+        paths.put("/redfish/v1", root);
+        paths.put("/redfish/v1/odata", makeServiceDocumentPath());
+
+        for (int i = 0; i < this.resources.size(); ++i) {
+            String resource = this.resources.get(i);
+            String version = versionName(versionCount(i) - 1);
+            String file = "./" + resource + "." + version + ".yaml";
+            String model = resource + "_" + version + "_" + resource;
+            List<String> parameters = this.pathParameters(i);
+            String collection = this.collectionPath(i);
+
+            Map<String, Object> collectionItem = new LinkedHashMap<>();
+            collectionItem.put("get", operation(null,
+                    response("200", "./" + resource + "Collection.yaml", resource + "Collection_" + resource + "Collection"),
+                    parameters));
+            collectionItem.put("post", operation(requestBody("./" + resource + ".yaml", resource + "_" + resource),
+                    response("201", file, model), parameters));
+            paths.put(collection, collectionItem);
+
+            List<String> memberParameters = new ArrayList<>(parameters);
+            memberParameters.add(resource + "Id");
+            String member = collection + "/{" + resource + "Id}";
+            Map<String, Object> memberItem = new LinkedHashMap<>();
+            memberItem.put("get", operation(null, response("200", file, model), memberParameters));
+            Map<String, Object> patchResponses = response("200", file, model);
+            patchResponses.put("204", Map.of("description", "no content"));
+            memberItem.put("patch", operation(requestBody(file, model), patchResponses, memberParameters));
+            memberItem.put("delete", operation(null, errorResponses(), memberParameters));
+            paths.put(member, memberItem);
+
+            Map<String, Object> actionResponses = errorResponses();
+            actionResponses.put("204", Map.of("description", "no content"));
+            Map<String, Object> actionItem = new LinkedHashMap<>();
+            actionItem.put("post", operation(
+                    requestBody(file, resource + "_" + version + "_ResetRequestBody"), actionResponses,
+                    memberParameters));
+            paths.put(member + "/Actions/" + resource + ".Reset", actionItem);
+        }
+
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("code", readOnly(type("string")));
+        error.put("message", type("string"));
+        error.put("@Message.ExtendedInfo", array(ref("./Message.v1_1_2.yaml", MESSAGE)));
+        Map<String, Object> redfishError = object(Map.of("error", required(object(error), "code", "message")));
+
+        Map<String, Object> document = document("Redfish", "2022.3");
+        document.put("paths", paths);
+        document.put("components", Map.of("schemas", Map.of("RedfishError", required(redfishError, "error"))));
+        return document;
+    }
+
+    private String collectionPath(int index) {
+        String prefix = -1 == parent(index) ? "/redfish/v1" : this.memberPath(parent(index));
+        return prefix + "/" + plural(this.resources.get(index));
+    }
+
+    private String memberPath(int index) {
+        return this.collectionPath(index) + "/{" + this.resources.get(index) + "Id}";
+    }
+
+    private List<String> pathParameters(int index) {
+        List<String> parameters = new ArrayList<>();
+        for (int ancestor = parent(index); -1 != ancestor; ancestor = parent(ancestor)) {
+            parameters.add(0, this.resources.get(ancestor) + "Id");
+        }
+        return parameters;
+    }
+
+    private List<Integer> children(int index) {
+        List<Integer> children = new ArrayList<>();
+        for (int i = (index + 1) * BRANCHING; i < (index + 2) * BRANCHING && i < this.resources.size(); ++i) {
+            children.add(i);
+        }
+        return children;
+    }
+
+    private static Map<String, Object> makeServiceDocumentPath() {
+        Map<String, Object> service = new LinkedHashMap<>();
+        service.put("name", type("string"));
+        service.put("kind", type("string"));
+        service.put("url", type("string"));
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("@odata.context", type("string"));
+        properties.put("value", array(object(service)));
+
+        Map<String, Object> content = Map.of("application/json", Map.of("schema", object(properties)));
+        Map<String, Object> ok = new LinkedHashMap<>();
+        ok.put("content", content);
+        ok.put("description", "ok");
+        return Map.of("get", Map.of("responses", Map.of("200", ok)));
+    }
+
+    private static Map<String, Object> operation(Map<String, Object> requestBody, Map<String, Object> responses,
+                                                 List<String> parameters) {
+        Map<String, Object> operation = new LinkedHashMap<>();
+        if (!parameters.isEmpty()) {
+            List<Object> list = new ArrayList<>();
+            for (String parameter : parameters) {
+                Map<String, Object> object = new LinkedHashMap<>();
+                object.put("in", "path");
+                object.put("name", parameter);
+                object.put("required", true);
+                object.put("schema", type("string"));
+                list.add(object);
+            }
+            operation.put("parameters", list);
+        }
+        if (null != requestBody) {
+            operation.put("requestBody", requestBody);
+        }
+        operation.put("responses", responses);
+        return operation;
+    }
+
+    private static Map<String, Object> requestBody(String file, String schema) {
+        return Map.of("content", Map.of("application/json", Map.of("schema", ref(file, schema))));
+    }
+
+    private static Map<String, Object> response(String code, String file, String schema) {
+        Map<String, Object> ok = new LinkedHashMap<>();
+        ok.put("content", Map.of("application/json", Map.of("schema", ref(file, schema))));
+        ok.put("description", "ok");
+        Map<String, Object> responses = new LinkedHashMap<>();
+        responses.put(code, ok);
+        responses.putAll(errorResponses());
+        return responses;
+    }
+
+    private static Map<String, Object> errorResponses() {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("content", Map.of("application/json", Map.of("schema", ref("", "RedfishError"))));
+        error.put("description", "err");
+        Map<String, Object> responses = new LinkedHashMap<>();
+        responses.put("default", error);
+        return responses;
+    }
+
+    // Schemas
+
+    private Map<String, Object> makeVersionedDocument(int index, int version) {
+        String resource = this.resources.get(index);
+        String prefix = resource + "_" + versionName(version) + "_";
+        Map<String, Object> schemas = new LinkedHashMap<>();
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("@odata.id", ref(ODATA, "odata-v4_id"));
+        properties.put("@odata.type", ref(ODATA, "odata-v4_type"));
+        properties.put("Id", type("string"));
+        properties.put("Name", type("string"));
+        properties.put("Description", nullable(type("string")));
+        properties.put(resource + "Type", ref("", prefix + resource + "Type"));
+        properties.put("PowerState", ref(RESOURCE, "Resource_PowerState"));
+        properties.put("Status", ref(RESOURCE, "Resource_Status"));
+
+        // Later versions add properties, as they do in the published schemas.
+        for (int i = 0; i < 4 + version * 2; ++i) {
+            properties.put(PROPERTIES[(index + i) % PROPERTIES.length],
+                    type(PROPERTY_TYPES[(index + i) % PROPERTY_TYPES.length]));
+        }
+
+        properties.put("Summary", ref("", prefix + "Summary"));
+        properties.put("Settings", ref("", prefix + "Settings"));
+        properties.put("Links", ref("", prefix + "Links"));
+        properties.put("Actions", ref("", prefix + "Actions"));
+        properties.put("Oem", ref(RESOURCE, "Resource_Oem"));
+
+        Map<String, Object> model = object(properties);
+        model.put("description", "A synthetic " + resource + " resource.");
+        schemas.put(prefix + resource, required(model, "Id", "Name"));
+
+        // Nested objects are components of their own, referenced from the resource, as they are in the published
+        // schemas. The generator names a model after the last part of its schema name, so an inline object would be
+        // generated to the same file as the resource that contains it.
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put(resource + "Count", type("integer"));
+        summary.put("Status", ref(RESOURCE, "Resource_Status"));
+        schemas.put(prefix + "Summary", object(summary));
+
+        Map<String, Object> links = new LinkedHashMap<>();
+        for (int child : this.children(index)) {
+            links.put(plural(this.resources.get(child)), array(ref(ODATA, "odata-v4_idRef")));
+        }
+        links.put("Oem", ref(RESOURCE, "Resource_Oem"));
+        schemas.put(prefix + "Links", object(links));
+
+        Map<String, Object> actions = new LinkedHashMap<>();
+        actions.put("#" + resource + ".Reset", ref("", prefix + "Reset"));
+        actions.put("Oem", ref("", prefix + "OemActions"));
+        schemas.put(prefix + "Actions", object(actions));
+
+        Map<String, Object> reset = new LinkedHashMap<>();
+        reset.put("target", type("string"));
+        reset.put("title", type("string"));
+        schemas.put(prefix + "Reset", object(reset));
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("Mode", ref("", prefix + resource + "Type"));
+        settings.put("Interval", type("integer"));
+        settings.put("Targets", array(type("string")));
+        schemas.put(prefix + "Settings", object(settings));
+
+        int values = 2 + (index + version) % (ENUM_VALUES.length - 1);
+        schemas.put(prefix + resource + "Type", enumeration(List.of(ENUM_VALUES).subList(0, values)));
+        schemas.put(prefix + "ResetRequestBody",
+                object(Map.of("ResetType", ref(RESOURCE, "Resource_ResetType"))));
+
+        Map<String, Object> oemActions = object(new LinkedHashMap<>());
+        oemActions.put("description", "OEM actions.");
+        schemas.put(prefix + "OemActions", oemActions);
+
+        return component(resource, schemas);
+    }
+
+    private static Map<String, Object> makeUnionDocument(String resource, int versions) {
+        List<Object> variants = new ArrayList<>();
+        for (int version = 0; version < versions; ++version) {
+            variants.add(ref("./" + resource + "." + versionName(version) + ".yaml",
+                    resource + "_" + versionName(version) + "_" + resource));
+        }
+
+        Map<String, Object> union = new LinkedHashMap<>();
+        union.put("anyOf", variants);
+        return component(resource, Map.of(resource + "_" + resource, union));
+    }
+
+    private static Map<String, Object> makeCollectionDocument(String resource) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("@odata.id", ref(ODATA, "odata-v4_id"));
+        properties.put("@odata.type", ref(ODATA, "odata-v4_type"));
+        properties.put("Members", array(ref(ODATA, "odata-v4_idRef")));
+        properties.put("Members@odata.count", ref(ODATA, "odata-v4_count"));
+        properties.put("Name", type("string"));
+        String name = resource + "Collection";
+        return component(name, Map.of(name + "_" + name, object(properties)));
+    }
+
+    private Map<String, Object> makeServiceRootDocument() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("@odata.id", ref(ODATA, "odata-v4_id"));
+        properties.put("@odata.type", ref(ODATA, "odata-v4_type"));
+        properties.put("Id", type("string"));
+        properties.put("Name", type("string"));
+        properties.put("RedfishVersion", type("string"));
+        properties.put("UUID", nullable(type("string")));
+        for (int i = 0; i < BRANCHING && i < this.resources.size(); ++i) {
+            properties.put(plural(this.resources.get(i)), ref(ODATA, "odata-v4_idRef"));
+        }
+        properties.put("Oem", ref(RESOURCE, "Resource_Oem"));
+        return component("ServiceRoot", Map.of(SERVICE_ROOT, required(object(properties), "Id", "Name")));
+    }
+
+    private static Map<String, Object> makeODataDocument() {
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        Map<String, Object> id = type("string");
+        id.put("format", "uri-reference");
+        schemas.put("odata-v4_id", id);
+        schemas.put("odata-v4_type", type("string"));
+        schemas.put("odata-v4_count", type("integer"));
+        schemas.put("odata-v4_idRef", object(Map.of("@odata.id", ref("", "odata-v4_id"))));
+        return component("odata", schemas);
+    }
+
+    private static Map<String, Object> makeResourceDocument() {
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        Map<String, Object> oem = object(new LinkedHashMap<>());
+        oem.put("description", "OEM extension.");
+        schemas.put("Resource_Oem", oem);
+        schemas.put("Resource_PowerState",
+                enumeration(List.of("On", "Off", "PoweringOn", "PoweringOff", "Paused")));
+        schemas.put("Resource_ResetType", enumeration(List.of("On", "ForceOff", "GracefulShutdown",
+                "GracefulRestart", "ForceRestart", "Nmi", "ForceOn", "PushPowerButton", "PowerCycle")));
+        schemas.put("Resource_Health", enumeration(List.of("OK", "Warning", "Critical")));
+        schemas.put("Resource_State", enumeration(List.of("Enabled", "Disabled", "StandbyOffline", "InTest",
+                "Starting", "Absent", "UnavailableOffline", "Deferring", "Quiesced", "Updating", "Qualified")));
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("Health", ref("", "Resource_Health"));
+        status.put("HealthRollup", ref("", "Resource_Health"));
+        status.put("State", ref("", "Resource_State"));
+        status.put("Oem", ref("", "Resource_Oem"));
+        schemas.put("Resource_Status", object(status));
+        return component("Resource", schemas);
+    }
+
+    private static Map<String, Object> makeMessageDocument() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("MessageId", type("string"));
+        properties.put("Message", type("string"));
+        properties.put("MessageArgs", array(type("string")));
+        properties.put("Severity", type("string"));
+        properties.put("Resolution", type("string"));
+        properties.put("MessageSeverity", ref(RESOURCE, "Resource_Health"));
+        properties.put("Oem", ref(RESOURCE, "Resource_Oem"));
+        return component("Message", Map.of(MESSAGE, required(object(properties), "MessageId")));
+    }
+
+    private static Map<String, Object> document(String title, String version) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("openapi", "3.0.1");
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("title", title);
+        info.put("version", version);
+        document.put("info", info);
+        return document;
+    }
+
+    private static Map<String, Object> component(String title, Map<String, Object> schemas) {
+        Map<String, Object> document = document(title, "1");
+        document.put("paths", Map.of());
+        document.put("components", Map.of("schemas", schemas));
+        return document;
+    }
+
+    private static Map<String, Object> ref(String file, String schema) {
+        Map<String, Object> ref = new LinkedHashMap<>();
+        ref.put("$ref", file + (file.endsWith("/") ? "" : "#/components/schemas/") + schema);
+        return ref;
+    }
+
+    private static Map<String, Object> type(String type) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", type);
+        return schema;
+    }
+
+    private static Map<String, Object> object(Map<String, Object> properties) {
+        Map<String, Object> schema = type("object");
+        schema.put("properties", properties);
+        return schema;
+    }
+
+    private static Map<String, Object> array(Map<String, Object> items) {
+        Map<String, Object> schema = type("array");
+        schema.put("items", items);
+        return schema;
+    }
+
+    private static Map<String, Object> enumeration(List<String> values) {
+        Map<String, Object> descriptions = new LinkedHashMap<>();
+        for (String value : values) {
+            descriptions.put(value, "The " + value + " value.");
+        }
+
+        Map<String, Object> schema = type("string");
+        schema.put("enum", values);
+        schema.put("x-enumDescriptions", descriptions);
+        return schema;
+    }
+
+    private static Map<String, Object> nullable(Map<String, Object> schema) {
+        schema.put("nullable", true);
+        return schema;
+    }
+
+    private static Map<String, Object> readOnly(Map<String, Object> schema) {
+        schema.put("readOnly", true);
+        return schema;
+    }
+
+    private static Map<String, Object> required(Map<String, Object> schema, String... properties) {
+        schema.put("required", List.of(properties));
+        return schema;
+    }
+
+    // Registries
+
+    private static Map<String, Object> makeRegistry(String id, int index) {
+        String[] severities = { "OK", "Warning", "Critical" };
+        Map<String, Object> messages = new LinkedHashMap<>();
+        for (int i = 0; i < MESSAGES_PER_REGISTRY; ++i) {
+            int arguments = (index + i) % 3;
+            Map<String, Object> message = new LinkedHashMap<>();
+            message.put("Description", "A synthetic message.");
+            message.put("LongDescription", "Indicates synthetic condition " + i + ".");
+            StringBuilder text = new StringBuilder("Synthetic condition " + i);
+            List<String> types = new ArrayList<>();
+            List<String> descriptions = new ArrayList<>();
+            for (int argument = 1; argument <= arguments; ++argument) {
+                text.append(" %").append(argument);
+                types.add(0 == argument % 2 ? "number" : "string");
+                descriptions.add("Argument " + argument + ".");
+            }
+            message.put("Message", text + ".");
+            String severity = severities[(index + i) % severities.length];
+            message.put("Severity", severity);
+            message.put("MessageSeverity", severity);
+            message.put("NumberOfArgs", arguments);
+            if (0 < arguments) {
+                message.put("ParamTypes", types);
+                message.put("ArgLongDescriptions", descriptions);
+            }
+            message.put("Resolution", "None.");
+            messages.put(name(i) + "Condition", message);
+        }
+
+        Map<String, Object> registry = new LinkedHashMap<>();
+        registry.put("Id", id);
+        registry.put("Description", "Synthetic messages.");
+        registry.put("Messages", messages);
+        return registry;
+    }
+
+    private static void writeYaml(Path file, Map<String, Object> document) throws IOException {
+        Yaml.mapper().writeValue(file.toFile(), document);
+    }
+
+    public static void main(String[] args) {
+        Option outputOption = new Option("output", true, "Directory in which to write the api/ and registry/ trees");
+        outputOption.setRequired(true);
+        Option scaleOption = new Option("scale", true,
+                "Scale factor. Each unit adds " + RESOURCES_PER_SCALE + " resources (default: 1)");
+        scaleOption.setType(Number.class);
+
+        Options options = new Options();
+        options.addOption(outputOption);
+        options.addOption(scaleOption);
+
+        CommandLineParser parser = new DefaultParser();
+        HelpFormatter formatter = new HelpFormatter();
+
+        try {
+            CommandLine command = parser.parse(options, args);
+            Number scaleValue = (Number) command.getParsedOptionValue("scale");
+            int scale = null != scaleValue ? scaleValue.intValue() : 1;
+            new SyntheticSpec(scale).write(Path.of(command.getOptionValue("output")));
+        } catch (ParseException | IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            formatter.printHelp("SyntheticSpec", options);
+            System.exit(1);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
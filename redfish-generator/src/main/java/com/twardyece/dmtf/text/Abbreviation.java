@@ -1,24 +1,38 @@
 package com.twardyece.dmtf.text;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class Abbreviation implements IWord {
     private String upperCaseValue;
+    public static final DictionaryFile DICTIONARY;
     public static final Map<String, IWord> SPECIAL_ABBREVIATIONS;
 
     static {
-        SPECIAL_ABBREVIATIONS = new HashMap<>();
-        SPECIAL_ABBREVIATIONS.put("PCIe", new Abbreviation("PCIe"));
-        SPECIAL_ABBREVIATIONS.put("VLan", new Abbreviation("VLan"));
-        SPECIAL_ABBREVIATIONS.put("VLANs", new Abbreviation("VLANs"));
-        SPECIAL_ABBREVIATIONS.put("mUSB", new Word("mUSB"));
-        SPECIAL_ABBREVIATIONS.put("uUSB", new Word("uUSB"));
-        SPECIAL_ABBREVIATIONS.put("cSFP", new Word("cSFP"));
-        SPECIAL_ABBREVIATIONS.put("IPv4", new Abbreviation("IPv4"));
-        SPECIAL_ABBREVIATIONS.put("IPv6", new Abbreviation("IPv6"));
-        SPECIAL_ABBREVIATIONS.put("kWh", new Abbreviation("kWh"));
-        SPECIAL_ABBREVIATIONS.put("iSCSI", new Word("iSCSI"));
+        // Abbreviations are matched in the order they're listed, which decides between overlapping abbreviations.
+        DICTIONARY = new DictionaryFile("dictionaries/abbreviations.txt", "com.twardyece.dmtf.abbreviations");
+        Map<String, IWord> abbreviations = new LinkedHashMap<>();
+        for (DictionaryFile.Entry entry : DICTIONARY.getEntries()) {
+            if (2 != entry.fields().length) {
+                throw entry.error("expected an abbreviation and its kind");
+            }
+
+            String abbreviation = entry.fields()[0];
+            if (!abbreviation.chars().allMatch((c) -> c < 0x80 && Character.isLetterOrDigit(c))) {
+                throw entry.error("abbreviation " + abbreviation + " must be ASCII letters and digits");
+            }
+            if (abbreviations.containsKey(abbreviation)) {
+                throw entry.error("abbreviation " + abbreviation + " is listed more than once");
+            }
+
+            switch (entry.fields()[1]) {
+                case "abbreviation" -> abbreviations.put(abbreviation, new Abbreviation(abbreviation));
+                case "word" -> abbreviations.put(abbreviation, new Word(abbreviation));
+                default -> throw entry.error("kind must be abbreviation or word, not " + entry.fields()[1]);
+            }
+        }
+        SPECIAL_ABBREVIATIONS = Collections.unmodifiableMap(abbreviations);
     }
 
     public Abbreviation(String upperCaseValue) {
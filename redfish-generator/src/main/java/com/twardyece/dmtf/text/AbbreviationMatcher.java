@@ -0,0 +1,193 @@
+package com.twardyece.dmtf.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Splits special abbreviations out of a name in a single pass. The abbreviations are compiled once into an
+ * Aho-Corasick automaton, whose failure links are folded into a transition table so that matching costs one lookup per
+ * character.
+ *
+ * Where two abbreviations overlap in a name, the one that comes first in the dictionary wins, and each abbreviation
+ * claims its occurrences from left to right. This is the order in which PascalCaseName historically searched for them.
+ */
+class AbbreviationMatcher {
+    // Abbreviations are ASCII, so any other character returns the automaton to its root.
+    private static final int ALPHABET = 128;
+    private static final int[] NO_OUTPUT = new int[0];
+
+    static final AbbreviationMatcher SPECIAL = new AbbreviationMatcher(Abbreviation.SPECIAL_ABBREVIATIONS.keySet());
+
+    private final String[] abbreviations;
+    private final int[] lengths;
+    private final int[] transitions;
+    // The abbreviations ending at each state, including those reached through failure links, in dictionary order.
+    private final int[][] outputs;
+
+    AbbreviationMatcher(Collection<String> abbreviations) {
+        this.abbreviations = abbreviations.toArray(new String[0]);
+        this.lengths = new int[abbreviations.size()];
+        List<int[]> trie = new ArrayList<>();
+        List<int[]> trieOutputs = new ArrayList<>();
+        trie.add(newState());
+        trieOutputs.add(NO_OUTPUT);
+
+        int pattern = 0;
+        for (String abbreviation : abbreviations) {
+            int state = 0;
+            for (int i = 0; i < abbreviation.length(); ++i) {
+                char c = abbreviation.charAt(i);
+                if (c >= ALPHABET) {
+                    throw new IllegalArgumentException("Abbreviation " + abbreviation + " is not ASCII");
+                }
+                if (-1 == trie.get(state)[c]) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newState());
+                    trieOutputs.add(NO_OUTPUT);
+                }
+                state = trie.get(state)[c];
+            }
+            trieOutputs.set(state, append(trieOutputs.get(state), pattern));
+            this.lengths[pattern++] = abbreviation.length();
+        }
+
+        // Breadth-first, so that each state's failure target is complete before the state itself is visited.
+        int states = trie.size();
+        this.transitions = new int[states * ALPHABET];
+        this.outputs = new int[states][];
+        int[] failure = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        this.outputs[0] = NO_OUTPUT;
+        for (int c = 0; c < ALPHABET; ++c) {
+            int next = trie.get(0)[c];
+            if (-1 == next) {
+                this.transitions[c] = 0;
+            } else {
+                this.transitions[c] = next;
+                failure[next] = 0;
+                queue[tail++] = next;
+            }
+        }
+
+        while (head < tail) {
+            int state = queue[head++];
+            int[] merged = trieOutputs.get(state);
+            for (int inherited : this.outputs[failure[state]]) {
+                merged = append(merged, inherited);
+            }
+            Arrays.sort(merged);
+            this.outputs[state] = merged;
+
+            for (int c = 0; c < ALPHABET; ++c) {
+                int next = trie.get(state)[c];
+                int fallback = this.transitions[failure[state] * ALPHABET + c];
+                if (-1 == next) {
+                    this.transitions[state * ALPHABET + c] = fallback;
+                } else {
+                    this.transitions[state * ALPHABET + c] = next;
+                    failure[next] = fallback;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Split the name into fragments, each of which is either an abbreviation or a run of text containing none. A name
+     * with no abbreviations is returned as a single fragment.
+     */
+    List<String> split(String name) {
+        int[] starts = null;
+        int[] patterns = null;
+        int count = 0;
+        int state = 0;
+        for (int i = 0; i < name.length(); ++i) {
+            char c = name.charAt(i);
+            state = c < ALPHABET ? this.transitions[state * ALPHABET + c] : 0;
+            for (int pattern : this.outputs[state]) {
+                if (null == starts) {
+                    starts = new int[4];
+                    patterns = new int[4];
+                } else if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    patterns = Arrays.copyOf(patterns, count * 2);
+                }
+                starts[count] = i + 1 - this.lengths[pattern];
+                patterns[count++] = pattern;
+            }
+        }
+
+        if (0 == count) {
+            return List.of(name);
+        }
+
+        // Occurrences were found in order of their end, which for any one abbreviation is also the order of their
+        // start. Let each abbreviation, in dictionary order, claim the occurrences that are still free.
+        boolean[] claimed = new boolean[name.length()];
+        boolean[] accepted = new boolean[count];
+        for (int pattern = 0; pattern < this.lengths.length; ++pattern) {
+            for (int i = 0; i < count; ++i) {
+                if (patterns[i] == pattern && isFree(claimed, starts[i], this.lengths[pattern])) {
+                    Arrays.fill(claimed, starts[i], starts[i] + this.lengths[pattern], true);
+                    accepted[i] = true;
+                }
+            }
+        }
+
+        List<String> fragments = new ArrayList<>();
+        int position = 0;
+        for (int start = 0; start < name.length(); ++start) {
+            for (int i = 0; i < count; ++i) {
+                if (accepted[i] && starts[i] == start) {
+                    if (position < start) {
+                        fragments.add(name.substring(position, start));
+                    }
+                    position = start + this.lengths[patterns[i]];
+                    fragments.add(name.substring(start, position));
+                }
+            }
+        }
+        if (position < name.length()) {
+            fragments.add(name.substring(position));
+        }
+
+        return fragments;
+    }
+
+    /**
+     * Whether the name begins with any of the abbreviations. This doesn't allocate.
+     */
+    boolean hasPrefix(String name) {
+        for (String abbreviation : this.abbreviations) {
+            if (name.startsWith(abbreviation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFree(boolean[] claimed, int start, int length) {
+        for (int i = start; i < start + length; ++i) {
+            if (claimed[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = value;
+        return result;
+    }
+}
@@ -0,0 +1,117 @@
+package com.twardyece.dmtf.text;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A thread-safe cache holding a bounded number of entries. Lookups never block. When the cache grows past its capacity,
+ * one thread sweeps it in the manner of a CLOCK cache: entries that were used since the last sweep get a second chance,
+ * and the rest are evicted.
+ *
+ * Values must be immutable, since they're shared between all callers. Values are computed outside of any lock, so two
+ * threads missing on the same key at once may both compute it, and the first to finish wins. A computation that
+ * throws caches nothing.
+ *
+ * Setting the system property com.twardyece.dmtf.boundedCache to false turns every BoundedCache off, so each lookup is
+ * computed and counted as a miss. The benchmarks use this to measure the computations themselves.
+ */
+public class BoundedCache<K, V> {
+    private static final boolean ENABLED = !"false".equals(System.getProperty("com.twardyece.dmtf.boundedCache"));
+
+    private final int capacity;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive, got " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    public V get(K key, Function<K, V> function) {
+        if (!ENABLED) {
+            this.misses.increment();
+            return function.apply(key);
+        }
+
+        Entry<V> entry = this.entries.get(key);
+        if (null != entry) {
+            this.hits.increment();
+            entry.referenced = true;
+            return entry.value;
+        }
+
+        this.misses.increment();
+        V value = function.apply(key);
+        Entry<V> existing = this.entries.putIfAbsent(key, new Entry<>(value));
+        if (null != existing) {
+            return existing.value;
+        }
+
+        if (this.entries.size() > this.capacity) {
+            this.sweep();
+        }
+        return value;
+    }
+
+    public long getHits() { return this.hits.sum(); }
+
+    public long getMisses() { return this.misses.sum(); }
+
+    public long getEvictions() { return this.evictions.sum(); }
+
+    public double getHitRatio() {
+        long hits = this.getHits();
+        long total = hits + this.getMisses();
+        return 0 == total ? 0.0 : (double) hits / total;
+    }
+
+    public int size() { return this.entries.size(); }
+
+    private void sweep() {
+        // Threads that miss while another is sweeping leave the work to it. The sweeping thread checks again after
+        // releasing the lock, so their entries can't push the cache over its capacity for good.
+        while (this.entries.size() > this.capacity && this.sweepLock.tryLock()) {
+            try {
+                this.evict();
+            } finally {
+                this.sweepLock.unlock();
+            }
+        }
+    }
+
+    private void evict() {
+        // The first pass gives recently used entries their second chance. Other threads may use them again in the
+        // meantime, so the second pass evicts whatever it must to bring the cache back under its capacity.
+        for (int pass = 0; pass < 2 && this.entries.size() > this.capacity; ++pass) {
+            Iterator<Map.Entry<K, Entry<V>>> iterator = this.entries.entrySet().iterator();
+            while (iterator.hasNext() && this.entries.size() > this.capacity) {
+                Entry<V> entry = iterator.next().getValue();
+                if (0 == pass && entry.referenced) {
+                    entry.referenced = false;
+                } else {
+                    iterator.remove();
+                    this.evictions.increment();
+                }
+            }
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        // Set on each hit, and cleared by the sweep. A racy write only costs an entry its second chance.
+        private volatile boolean referenced;
+
+        private Entry(V value) {
+            this.value = value;
+        }
+    }
+}
@@ -1,25 +1,54 @@
 package com.twardyece.dmtf.text;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
 
 public class CamelCaseName implements ICaseConvertible, Comparable<CamelCaseName> {
-    List<IWord> words;
-    private static final Pattern camelCase = Pattern.compile("(?<prefix>^[a-z0-9]+)");
+    private final WordList words;
+    // The rendered name, interned in the IdentifierTable. Computed on first use.
+    private String value;
 
     public CamelCaseName(String name) {
         // Camel Case names are just PascalCaseNames with a lowercase word prefix.
-        Matcher matcher = camelCase.matcher(name);
-        if (!matcher.find()) {
+        int prefixEnd = prefixLength(name);
+        if (0 == prefixEnd) {
             throw new ICaseConvertible.CaseConversionError("camelCase", name);
         }
 
-        this.words = new ArrayList<>();
-        words.add(new Word(matcher.group("prefix")));
-        words.addAll(new PascalCaseName(matcher.replaceAll("")).words());
+        this.words = new WordList.Builder()
+                .addWord(name, 0, prefixEnd)
+                .addAll(new PascalCaseName(name.substring(prefixEnd)).words())
+                .build();
+    }
+
+    private CamelCaseName(WordList words) {
+        this.words = words;
+    }
+
+    /**
+     * Parse the name, or return an empty result if it is not in camelCase.
+     */
+    public static Optional<CamelCaseName> tryParse(String name) {
+        int prefixEnd = prefixLength(name);
+        if (0 == prefixEnd) {
+            return Optional.empty();
+        }
+
+        return PascalCaseName.tryParse(name.substring(prefixEnd))
+                .map((remainder) -> new CamelCaseName(new WordList.Builder()
+                        .addWord(name, 0, prefixEnd)
+                        .addAll(remainder.words())
+                        .build()));
+    }
+
+    // The length of the lowercase prefix, [a-z0-9]+
+    private static int prefixLength(String name) {
+        int end = 0;
+        while (end < name.length() && ((name.charAt(end) >= 'a' && name.charAt(end) <= 'z')
+                || (name.charAt(end) >= '0' && name.charAt(end) <= '9'))) {
+            ++end;
+        }
+        return end;
     }
 
     @Override
@@ -29,11 +58,10 @@ public class CamelCaseName implements ICaseConvertible, Comparable<CamelCaseName
 
     @Override
     public String toString() {
-        String value = "";
-        for (IWord word : this.words) {
-            value += word.capitalize();
+        if (null == this.value) {
+            this.value = IdentifierTable.intern(this.words.capitalize());
         }
-        return value;
+        return this.value;
     }
 
     @Override
@@ -44,7 +72,8 @@ public class CamelCaseName implements ICaseConvertible, Comparable<CamelCaseName
     @Override
     public boolean equals(Object o) {
         if (o instanceof CamelCaseName) {
-            return this.toString().equals(o.toString());
+            // Both strings are interned.
+            return this.toString() == o.toString();
         } else {
             return false;
         }
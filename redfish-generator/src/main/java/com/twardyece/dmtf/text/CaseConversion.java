@@ -1,31 +1,52 @@
 package com.twardyece.dmtf.text;
 
+import java.util.Optional;
+
 public class CaseConversion {
+    // The same names are converted many times over while rendering, so conversions are cached.
+    private static final int CACHE_CAPACITY = 16384;
+    private static final BoundedCache<String, PascalCaseName> pascalCaseCache = new BoundedCache<>(CACHE_CAPACITY);
+    private static final BoundedCache<String, SnakeCaseName> snakeCaseCache = new BoundedCache<>(CACHE_CAPACITY);
+
     public static PascalCaseName toPascalCase(String name) {
-        try {
-            return new PascalCaseName(name);
-        } catch (ICaseConvertible.CaseConversionError e) {
-            try {
-                SnakeCaseName snakeCaseName = new SnakeCaseName(name);
-                return new PascalCaseName(snakeCaseName);
-            } catch (ICaseConvertible.CaseConversionError f) {
-                CamelCaseName camelCaseName = new CamelCaseName(name);
-                return new PascalCaseName(camelCaseName);
-            }
-        }
+        return pascalCaseCache.get(name, CaseConversion::convertToPascalCase);
     }
 
     public static SnakeCaseName toSnakeCase(String name) {
-        try {
-            return new SnakeCaseName(name);
-        } catch (ICaseConvertible.CaseConversionError e) {
-            try {
-                PascalCaseName pascalCaseName = new PascalCaseName(name);
-                return new SnakeCaseName(pascalCaseName);
-            } catch (ICaseConvertible.CaseConversionError f) {
-                CamelCaseName camelCaseName = new CamelCaseName(name);
-                return new SnakeCaseName(camelCaseName);
-            }
+        return snakeCaseCache.get(name, CaseConversion::convertToSnakeCase);
+    }
+
+    public static BoundedCache<String, PascalCaseName> getPascalCaseCache() { return pascalCaseCache; }
+
+    public static BoundedCache<String, SnakeCaseName> getSnakeCaseCache() { return snakeCaseCache; }
+
+    private static PascalCaseName convertToPascalCase(String name) {
+        Optional<PascalCaseName> pascalCaseName = PascalCaseName.tryParse(name);
+        if (pascalCaseName.isPresent()) {
+            return pascalCaseName.get();
+        }
+
+        Optional<SnakeCaseName> snakeCaseName = SnakeCaseName.tryParse(name);
+        if (snakeCaseName.isPresent()) {
+            return new PascalCaseName(snakeCaseName.get());
+        }
+
+        CamelCaseName camelCaseName = new CamelCaseName(name);
+        return new PascalCaseName(camelCaseName);
+    }
+
+    private static SnakeCaseName convertToSnakeCase(String name) {
+        Optional<SnakeCaseName> snakeCaseName = SnakeCaseName.tryParse(name);
+        if (snakeCaseName.isPresent()) {
+            return snakeCaseName.get();
+        }
+
+        Optional<PascalCaseName> pascalCaseName = PascalCaseName.tryParse(name);
+        if (pascalCaseName.isPresent()) {
+            return new SnakeCaseName(pascalCaseName.get());
         }
+
+        CamelCaseName camelCaseName = new CamelCaseName(name);
+        return new SnakeCaseName(camelCaseName);
     }
 }
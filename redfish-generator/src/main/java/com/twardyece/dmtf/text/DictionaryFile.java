@@ -0,0 +1,62 @@
+package com.twardyece.dmtf.text;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A list of entries read from a dictionary resource bundled with the generator, followed by any entries from the file
+ * named by a system property. Each line holds one entry, whose fields are separated by whitespace. Blank lines and
+ * lines starting with '#' are ignored.
+ *
+ * Dictionaries are read once, when the classes using them are initialized, so the system property must be set on the
+ * command line, e.g. -Dcom.twardyece.dmtf.abbreviations=oem-abbreviations.txt
+ */
+public class DictionaryFile {
+    private final List<Entry> entries = new ArrayList<>();
+    private final Path extension;
+
+    public DictionaryFile(String resource, String property) {
+        try (InputStream input = DictionaryFile.class.getClassLoader().getResourceAsStream(resource)) {
+            if (null == input) {
+                throw new IllegalStateException("Couldn't find dictionary " + resource);
+            }
+            this.read(resource, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+
+            String extension = System.getProperty(property);
+            this.extension = null == extension ? null : Path.of(extension);
+            if (null != this.extension) {
+                this.read(extension, Files.readString(this.extension));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<Entry> getEntries() { return this.entries; }
+
+    // The file that extends the bundled dictionary, or null if there is none.
+    public Path getExtension() { return this.extension; }
+
+    private void read(String source, String content) {
+        String[] lines = content.split("\n");
+        for (int i = 0; i < lines.length; ++i) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            this.entries.add(new Entry(source + ":" + (i + 1), line.split("\\s+")));
+        }
+    }
+
+    public record Entry(String location, String[] fields) {
+        public IllegalStateException error(String message) {
+            return new IllegalStateException(this.location + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.twardyece.dmtf.text;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The generator-wide table of rendered identifiers. Names render their string form once and keep the canonical
+ * instance from this table, so two names are equal exactly when their strings are the same object.
+ */
+public class IdentifierTable {
+    private static final ConcurrentHashMap<String, String> identifiers = new ConcurrentHashMap<>();
+
+    private IdentifierTable() {}
+
+    public static String intern(String identifier) {
+        String existing = identifiers.putIfAbsent(identifier, identifier);
+        return null == existing ? identifier : existing;
+    }
+
+    public static int size() { return identifiers.size(); }
+}
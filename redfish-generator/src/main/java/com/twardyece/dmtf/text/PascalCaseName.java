@@ -1,105 +1,124 @@
 package com.twardyece.dmtf.text;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
+import java.util.Optional;
 
 public class PascalCaseName implements ICaseConvertible, Comparable<PascalCaseName> {
-    ArrayList<IWord> words;
-    private static final Pattern pascalCase = Pattern.compile("([A-Z][a-z]+)|([A-Z]+)(?=[A-Z][a-z])|([A-Z0-9]+)");
+    private final WordList words;
+    // The rendered name, interned in the IdentifierTable. Computed on first use.
+    private String value;
 
     public PascalCaseName(String name) {
-        // PascalCase is a little harder than other cases. Since PascalCase strings may contain substrings that are not
-        // in PascalCase, e.g. abbreviations like "PCIe", we have to intentionally handle those before attempting to
-        // parse the identifier(s) as PascalCase.
-        ArrayList<String> identifiers = new ArrayList<>();
-        identifiers.add(name);
-        for (String abbreviation : Abbreviation.SPECIAL_ABBREVIATIONS.keySet()) {
-            for (int i = 0; i < identifiers.size(); ++i) {
-                String identifier = identifiers.get(i);
-                // We may run into a case where the current identifier is equal to the current abbreviation. There's
-                // nothing we must do in that scenario.
-                if (abbreviation.equals(identifier)) {
-                    continue;
-                }
+        WordList words = parse(name);
+        if (null == words) {
+            throw new CaseConversionError("PascalCase", name);
+        }
+        this.words = words;
+    }
 
-                int index = identifier.indexOf(abbreviation);
-                if (-1 != index) {
-                    // Three cases:
-                    //   1. It's at the beginning of the string (result is two strings)
-                    if (0 == index) {
-                        String first = identifier.substring(0, abbreviation.length());
-                        String second = identifier.substring(abbreviation.length());
-                        identifiers.set(i, first);
-                        identifiers.add(i + 1, second);
-                    }
-                    //   2. It's at the end of the string (result is two strings)
-                    else if (index + abbreviation.length() == identifier.length()) {
-                        String first = identifier.substring(0, index);
-                        String second = identifier.substring(index);
-                        identifiers.set(i, first);
-                        identifiers.add(i + 1, second);
-                    }
-                    //   3. It's in the middle of the string (result is three strings)
-                    else {
-                        String first = identifier.substring(0, index);
-                        String second = identifier.substring(index, index + abbreviation.length());
-                        String third = identifier.substring(index + abbreviation.length());
-                        identifiers.set(i, first);
-                        identifiers.add(i + 1, second);
-                        identifiers.add(i + 2, third);
-                    }
-                }
-            }
+    private PascalCaseName(WordList words) {
+        this.words = words;
+    }
+
+    /**
+     * Parse the name, or return an empty result if it is not in PascalCase.
+     */
+    public static Optional<PascalCaseName> tryParse(String name) {
+        WordList words = parse(name);
+        return null == words ? Optional.empty() : Optional.of(new PascalCaseName(words));
+    }
+
+    private static WordList parse(String name) {
+        // Names in other cases usually start with a lowercase letter, and are rejected here without allocating.
+        if (name.isEmpty()
+                || (!Character.isUpperCase(name.charAt(0)) && !AbbreviationMatcher.SPECIAL.hasPrefix(name))) {
+            return null;
         }
 
-        if (identifiers.size() > 0) {
-            String identifier = identifiers.get(0);
-            if (!Abbreviation.SPECIAL_ABBREVIATIONS.containsKey(identifier) && !Character.isUpperCase(identifier.charAt(0))) {
-                throw new CaseConversionError("PascalCase", name);
-            }
+        // PascalCase is a little harder than other cases. Since PascalCase strings may contain substrings that are not
+        // in PascalCase, e.g. abbreviations like "PCIe", we have to intentionally split those out before attempting to
+        // parse the identifier(s) as PascalCase.
+        List<String> identifiers = AbbreviationMatcher.SPECIAL.split(name);
+        String first = identifiers.get(0);
+        if (!Abbreviation.SPECIAL_ABBREVIATIONS.containsKey(first)
+                && (first.isEmpty() || !Character.isUpperCase(first.charAt(0)))) {
+            return null;
         }
 
-        this.words = new ArrayList<>();
+        WordList.Builder words = new WordList.Builder();
         for (String identifier : identifiers) {
             // Each identifier is either a special abbreviation, or a PascalCased string.
-            if (Abbreviation.SPECIAL_ABBREVIATIONS.containsKey(identifier)) {
-                this.words.add(Abbreviation.SPECIAL_ABBREVIATIONS.get(identifier));
+            IWord abbreviation = Abbreviation.SPECIAL_ABBREVIATIONS.get(identifier);
+            if (null != abbreviation) {
+                words.add(abbreviation);
             } else {
-                parsePascalCaseName(identifier);
+                parsePascalCaseName(words, identifier);
+                if (words.isEmpty() && !"".equals(identifier)) {
+                    return null;
+                }
             }
         }
+        return words.build();
     }
 
-    private void parsePascalCaseName(String name) {
-        Matcher matcher = pascalCase.matcher(name);
+    // Equivalent to repeatedly calling find() with the pattern ([A-Z][a-z]+)|([A-Z]+)(?=[A-Z][a-z])|([A-Z0-9]+), which
+    // skips over characters that no alternative matches.
+    private static void parsePascalCaseName(WordList.Builder words, String name) {
+        int length = name.length();
+        int i = 0;
+        while (i < length) {
+            char c = name.charAt(i);
+            if (isUpper(c)) {
+                if (i + 1 < length && isLower(name.charAt(i + 1))) {
+                    // [A-Z][a-z]+
+                    int end = i + 2;
+                    while (end < length && isLower(name.charAt(end))) {
+                        ++end;
+                    }
+                    words.addWord(name, i, end);
+                    i = end;
+                    continue;
+                }
 
-        while (matcher.find()) {
-            if (null != matcher.group(1)) {
-                this.words.add(new Word(matcher.group(1)));
-            } else if (null != matcher.group(2)) {
-                this.words.add(new Abbreviation(matcher.group(2)));
-            } else if (null != matcher.group(3)) {
-                this.words.add(new Abbreviation(matcher.group(3)));
-            } else {
-                throw new CaseConversionError("PascalCase", name);
+                int end = i + 1;
+                while (end < length && isUpper(name.charAt(end))) {
+                    ++end;
+                }
+                if (end - i >= 2 && end < length && isLower(name.charAt(end))) {
+                    // [A-Z]+(?=[A-Z][a-z]): the last capital begins the next word.
+                    words.addAbbreviation(name, i, end - 1);
+                    i = end - 1;
+                    continue;
+                }
             }
-        }
 
-        if (this.words.size() == 0 && !"".equals(name)) {
-            throw new CaseConversionError("PascalCase", name);
+            if (isUpper(c) || isDigit(c)) {
+                // [A-Z0-9]+
+                int end = i + 1;
+                while (end < length && (isUpper(name.charAt(end)) || isDigit(name.charAt(end)))) {
+                    ++end;
+                }
+                words.addAbbreviation(name, i, end);
+                i = end;
+            } else {
+                ++i;
+            }
         }
     }
 
+    private static boolean isUpper(char c) { return c >= 'A' && c <= 'Z'; }
+
+    private static boolean isLower(char c) { return c >= 'a' && c <= 'z'; }
+
+    private static boolean isDigit(char c) { return c >= '0' && c <= '9'; }
+
     public PascalCaseName(ICaseConvertible originalCase) {
-        this.words = new ArrayList<>();
-        this.words.addAll(originalCase.words());
+        this.words = WordList.of(originalCase.words());
     }
 
     public PascalCaseName(Collection<? extends ICaseConvertible> identifiers) {
-        this.words = new ArrayList<>();
-        identifiers.stream().forEach((identifier) -> this.words.addAll(identifier.words()));
+        this.words = WordList.concat(identifiers);
     }
 
     @Override
@@ -109,11 +128,10 @@ public class PascalCaseName implements ICaseConvertible, Comparable<PascalCaseNa
 
     @Override
     public String toString() {
-        String value = "";
-        for (IWord word : this.words) {
-            value += word.capitalize();
+        if (null == this.value) {
+            this.value = IdentifierTable.intern(this.words.capitalize());
         }
-        return value;
+        return this.value;
     }
 
     @Override
@@ -124,7 +142,8 @@ public class PascalCaseName implements ICaseConvertible, Comparable<PascalCaseNa
     @Override
     public boolean equals(Object o) {
         if (o instanceof PascalCaseName) {
-            return this.toString().equals(o.toString());
+            // Both strings are interned.
+            return this.toString() == o.toString();
         } else {
             return false;
         }
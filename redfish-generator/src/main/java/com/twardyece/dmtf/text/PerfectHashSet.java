@@ -0,0 +1,63 @@
+package com.twardyece.dmtf.text;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * An immutable set of strings, compiled into a table in which no two members collide. A lookup hashes the string once
+ * and compares it against at most one member, which is usually the same interned instance.
+ */
+public class PerfectHashSet {
+    // Seeds to try at each table size before doubling it.
+    private static final int SEED_ATTEMPTS = 1 << 12;
+
+    private final String[] table;
+    private final int seed;
+    private final int size;
+
+    public PerfectHashSet(Collection<String> members) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String member : members) {
+            unique.add(IdentifierTable.intern(member));
+        }
+        this.size = unique.size();
+
+        int capacity = Integer.highestOneBit(Math.max(1, this.size * 2 - 1)) << 1;
+        int seed = 1;
+        String[] table;
+        while (null == (table = build(unique, capacity, seed))) {
+            if (++seed > SEED_ATTEMPTS) {
+                seed = 1;
+                capacity <<= 1;
+            }
+        }
+        this.table = table;
+        this.seed = seed;
+    }
+
+    public boolean contains(String value) {
+        String member = this.table[index(value, this.seed, this.table.length)];
+        return null != member && (member == value || member.equals(value));
+    }
+
+    public int size() { return this.size; }
+
+    private static String[] build(Set<String> members, int capacity, int seed) {
+        String[] table = new String[capacity];
+        for (String member : members) {
+            int index = index(member, seed, capacity);
+            if (null != table[index]) {
+                return null;
+            }
+            table[index] = member;
+        }
+        return table;
+    }
+
+    private static int index(String value, int seed, int capacity) {
+        int hash = value.hashCode() * ((0x9E3779B9 ^ (seed * 0x85EBCA6B)) | 1);
+        hash ^= hash >>> 15;
+        return hash & (capacity - 1);
+    }
+}
@@ -1,53 +1,83 @@
 package com.twardyece.dmtf.text;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 public class SnakeCaseName implements ICaseConvertible, Comparable<SnakeCaseName> {
-    private ArrayList<IWord> words;
-
-    private static final Pattern snakeCase = Pattern.compile("([#a-z0-9]+)");
-    private static final Pattern uppercase = Pattern.compile("[A-Z]");
+    private final WordList words;
+    // The rendered name, interned in the IdentifierTable. Computed on first use.
+    private String value;
 
     public SnakeCaseName(ICaseConvertible originalCase) {
-        this.words = new ArrayList<>();
-        this.words.addAll(originalCase.words());
+        this.words = WordList.of(originalCase.words());
     }
 
     public SnakeCaseName(Collection<? extends ICaseConvertible> identifiers) {
-        this.words = new ArrayList<>();
-        identifiers.stream().forEach((identifier) -> this.words.addAll(identifier.words()));
+        this.words = WordList.concat(identifiers);
     }
 
     public SnakeCaseName(String name) {
-        // Since our snakeCase regex will match even if the string contains uppercase characters, we have to check
-        // whether there are any first.
-        Matcher matcher = uppercase.matcher(name);
-        if (matcher.find()) {
+        WordList words = parse(name);
+        if (null == words) {
             throw new CaseConversionError("snake_case", name);
         }
+        this.words = words;
+    }
+
+    private SnakeCaseName(WordList words) {
+        this.words = words;
+    }
 
-        this.words = new ArrayList<>();
-        matcher = snakeCase.matcher(name);
-        while (matcher.find()) {
-            if (null == matcher.group(1)) {
-                throw new CaseConversionError("snake_case", name);
+    /**
+     * Parse the name, or return an empty result if it is not in snake_case. The empty string is a snake_case name with
+     * no words, as it is to the constructor.
+     */
+    public static Optional<SnakeCaseName> tryParse(String name) {
+        WordList words = parse(name);
+        return null == words ? Optional.empty() : Optional.of(new SnakeCaseName(words));
+    }
+
+    // The words are the runs of [#a-z0-9], and a name with any uppercase letter is rejected. The name is validated
+    // before anything is allocated.
+    private static WordList parse(String name) {
+        boolean hasWord = false;
+        for (int i = 0; i < name.length(); ++i) {
+            char c = name.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                return null;
             }
-            this.words.add(new Word(matcher.group(1)));
+            hasWord |= isWordCharacter(c);
         }
 
-        if (this.words.size() == 0 && !"".equals(name)) {
-            throw new CaseConversionError("snake_case", name);
+        if (!hasWord) {
+            return "".equals(name) ? WordList.EMPTY : null;
+        }
+
+        WordList.Builder words = new WordList.Builder();
+        int i = 0;
+        while (i < name.length()) {
+            if (!isWordCharacter(name.charAt(i))) {
+                ++i;
+                continue;
+            }
+
+            int end = i + 1;
+            while (end < name.length() && isWordCharacter(name.charAt(end))) {
+                ++end;
+            }
+            words.addWord(name, i, end);
+            i = end;
         }
+        return words.build();
     }
 
-    public String toUpperCase() {
-        return this.words.stream().map(IWord::toUpperCase).collect(Collectors.joining("_"));
+    private static boolean isWordCharacter(char c) {
+        return '#' == c || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
     }
 
+    public String toUpperCase() {
+        return this.words.toUpperCase("_");
+    }
 
     @Override
     public Collection<? extends IWord> words() {
@@ -56,12 +86,10 @@ public class SnakeCaseName implements ICaseConvertible, Comparable<SnakeCaseName
 
     @Override
     public String toString() {
-        ArrayList<String> words = new ArrayList<>();
-        for (IWord word : this.words) {
-            words.add(word.toLowerCase());
+        if (null == this.value) {
+            this.value = IdentifierTable.intern(this.words.toLowerCase("_"));
         }
-
-        return String.join("_", words);
+        return this.value;
     }
 
     @Override
@@ -72,7 +100,8 @@ public class SnakeCaseName implements ICaseConvertible, Comparable<SnakeCaseName
     @Override
     public boolean equals(Object o) {
         if (o instanceof SnakeCaseName) {
-            return this.toString().equals(o.toString());
+            // Both strings are interned.
+            return this.toString() == o.toString();
         } else {
             return false;
         }
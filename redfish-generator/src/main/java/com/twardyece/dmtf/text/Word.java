@@ -8,6 +8,8 @@ public class Word implements IWord {
         this.word = word;
     }
 
+    String getText() { return this.word; }
+
     @Override
     public String toUpperCase() {
         return this.word.toUpperCase();
@@ -0,0 +1,206 @@
+package com.twardyece.dmtf.text;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The words of a name, stored compactly: the text of all the words back to back, and one int per word holding the
+ * offset at which it ends and whether it's an abbreviation. Names render from this directly, so no word objects or
+ * per-word strings are created. As a List, this is an immutable view that creates the equivalent IWord on each access.
+ */
+final class WordList extends AbstractList<IWord> {
+    static final WordList EMPTY = new WordList("", new int[0]);
+
+    private static final int ABBREVIATION = 1;
+    private static final int END_SHIFT = 1;
+
+    private final String text;
+    private final int[] words;
+    // Whether the text is plain ASCII, in which case case conversions are done a character at a time. Otherwise they
+    // go through String, as IWord does.
+    private final boolean ascii;
+
+    private WordList(String text, int[] words) {
+        this.text = text;
+        this.words = words;
+        this.ascii = isAscii(text);
+    }
+
+    // The words of several names, in order. Names in this representation are shared rather than copied.
+    static WordList concat(Collection<? extends ICaseConvertible> names) {
+        if (1 == names.size()) {
+            return of(names.iterator().next().words());
+        }
+
+        Builder builder = new Builder();
+        for (ICaseConvertible name : names) {
+            builder.addAll(name.words());
+        }
+        return builder.build();
+    }
+
+    static WordList of(Collection<? extends IWord> words) {
+        if (words instanceof WordList wordList) {
+            return wordList;
+        }
+
+        Builder builder = new Builder();
+        builder.addAll(words);
+        return builder.build();
+    }
+
+    @Override
+    public IWord get(int index) {
+        String word = this.text.substring(this.start(index), this.end(index));
+        return this.isAbbreviation(index) ? new Abbreviation(word) : new Word(word);
+    }
+
+    @Override
+    public int size() { return this.words.length; }
+
+    // Each word in uppercase, e.g. PCIE_DEVICE.
+    String toUpperCase(String separator) {
+        StringBuilder value = new StringBuilder(this.text.length() + this.words.length);
+        for (int i = 0; i < this.words.length; ++i) {
+            if (0 != i) {
+                value.append(separator);
+            }
+            if (this.isAbbreviation(i)) {
+                value.append(this.text, this.start(i), this.end(i));
+            } else {
+                this.appendUpperCase(value, this.start(i), this.end(i));
+            }
+        }
+        return value.toString();
+    }
+
+    // Each word in lowercase, e.g. pcie_device.
+    String toLowerCase(String separator) {
+        StringBuilder value = new StringBuilder(this.text.length() + this.words.length);
+        for (int i = 0; i < this.words.length; ++i) {
+            if (0 != i) {
+                value.append(separator);
+            }
+            this.appendLowerCase(value, this.start(i), this.end(i));
+        }
+        return value.toString();
+    }
+
+    // Each word capitalized, e.g. PCIeDevice. Abbreviations keep their own case.
+    String capitalize() {
+        StringBuilder value = new StringBuilder(this.text.length());
+        for (int i = 0; i < this.words.length; ++i) {
+            int start = this.start(i);
+            int end = this.end(i);
+            if (this.isAbbreviation(i)) {
+                value.append(this.text, start, end);
+            } else if (!this.ascii) {
+                String word = this.text.substring(start, end).toLowerCase();
+                value.append(word.substring(0, 1).toUpperCase()).append(word, 1, word.length());
+            } else if (start < end) {
+                int first = value.length();
+                this.appendLowerCase(value, start, end);
+                value.setCharAt(first, upperCase(value.charAt(first)));
+            }
+        }
+        return value.toString();
+    }
+
+    private int start(int index) { return 0 == index ? 0 : this.end(index - 1); }
+
+    private int end(int index) { return this.words[index] >>> END_SHIFT; }
+
+    private boolean isAbbreviation(int index) { return 0 != (this.words[index] & ABBREVIATION); }
+
+    private void appendLowerCase(StringBuilder value, int start, int end) {
+        if (!this.ascii) {
+            value.append(this.text.substring(start, end).toLowerCase());
+            return;
+        }
+        for (int i = start; i < end; ++i) {
+            char c = this.text.charAt(i);
+            value.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+    }
+
+    private void appendUpperCase(StringBuilder value, int start, int end) {
+        if (!this.ascii) {
+            value.append(this.text.substring(start, end).toUpperCase());
+            return;
+        }
+        for (int i = start; i < end; ++i) {
+            value.append(upperCase(this.text.charAt(i)));
+        }
+    }
+
+    private static char upperCase(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); ++i) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static class Builder {
+        private final StringBuilder text = new StringBuilder();
+        private int[] words = new int[4];
+        private int count = 0;
+
+        Builder addWord(CharSequence source, int start, int end) {
+            return this.add(source, start, end, 0);
+        }
+
+        Builder addAbbreviation(CharSequence source, int start, int end) {
+            return this.add(source, start, end, ABBREVIATION);
+        }
+
+        Builder add(IWord word) {
+            if (word instanceof Abbreviation abbreviation) {
+                String text = abbreviation.toUpperCase();
+                return this.addAbbreviation(text, 0, text.length());
+            } else if (word instanceof Word plain) {
+                String text = plain.getText();
+                return this.addWord(text, 0, text.length());
+            }
+            throw new IllegalArgumentException("Unsupported word type " + word.getClass().getName());
+        }
+
+        Builder addAll(Collection<? extends IWord> words) {
+            if (words instanceof WordList wordList) {
+                for (int i = 0; i < wordList.words.length; ++i) {
+                    this.add(wordList.text, wordList.start(i), wordList.end(i),
+                            wordList.words[i] & ABBREVIATION);
+                }
+            } else {
+                for (IWord word : words) {
+                    this.add(word);
+                }
+            }
+            return this;
+        }
+
+        boolean isEmpty() { return 0 == this.count; }
+
+        WordList build() {
+            if (0 == this.count) {
+                return EMPTY;
+            }
+            return new WordList(this.text.toString(), Arrays.copyOf(this.words, this.count));
+        }
+
+        private Builder add(CharSequence source, int start, int end, int flags) {
+            if (this.count == this.words.length) {
+                this.words = Arrays.copyOf(this.words, this.count * 2);
+            }
+            this.text.append(source, start, end);
+            this.words[this.count++] = (this.text.length() << END_SHIFT) | flags;
+            return this;
+        }
+    }
+}